@@ -1,23 +1,81 @@
 package com.lang.lox;
 
+import com.lang.lox.interpreter.ExecutionEngine;
 import com.lang.lox.interpreter.LoxInterpreter;
 import com.lang.lox.utils.ExitCodes;
 
+import java.util.Arrays;
+
 public final class Lox {
+    private static final String VM_OPTION = "--vm";
+    private static final String CLOSURES_OPTION = "--closures";
+    private static final String STACK_SIZE_OPTION = "--stack-size=";
+    private static final String MAX_DEPTH_OPTION = "--max-depth=";
+    private static final String NO_FOLD_OPTION = "--no-fold";
+
+    // Scripts run on a thread of their own whose stack comfortably fits the maximum call depth,
+    // so deep recursion ends in a Lox "stack overflow" error rather than a crash
+    private static final long DEFAULT_STACK_SIZE_MB = 512;
+    private static final int DEFAULT_MAX_DEPTH = 100_000;
+
     public static void main(String[] args) {
-        final var interpreter = new LoxInterpreter();
+        var engine = ExecutionEngine.TREE_WALKER;
+        var stackSizeMb = DEFAULT_STACK_SIZE_MB;
+        var maxDepth = DEFAULT_MAX_DEPTH;
+        var foldConstants = true;
+        var optionCount = 0;
+
+        try {
+            for (; optionCount < args.length && args[optionCount].startsWith("--"); ++optionCount) {
+                final var option = args[optionCount];
+
+                if (option.equals(VM_OPTION)) {
+                    engine = ExecutionEngine.BYTECODE_VM;
+                } else if (option.equals(CLOSURES_OPTION)) {
+                    engine = ExecutionEngine.CLOSURE_COMPILER;
+                } else if (option.startsWith(STACK_SIZE_OPTION)) {
+                    stackSizeMb = Long.parseLong(option.substring(STACK_SIZE_OPTION.length()));
+                } else if (option.startsWith(MAX_DEPTH_OPTION)) {
+                    maxDepth = Integer.parseInt(option.substring(MAX_DEPTH_OPTION.length()));
+                } else if (option.equals(NO_FOLD_OPTION)) {
+                    foldConstants = false;
+                } else {
+                    displayIncorrectUsageMessageAndExit();
+                }
+            }
+        } catch (NumberFormatException e) {
+            displayIncorrectUsageMessageAndExit();
+        }
 
-        if (args.length > 1) {
+        final var scripts = Arrays.copyOfRange(args, optionCount, args.length);
+
+        if (scripts.length > 1 || stackSizeMb <= 0 || maxDepth <= 0) {
             displayIncorrectUsageMessageAndExit();
-        } else if (args.length == 1) {
-            interpreter.runViaSourceFile(args[0]);
-        } else {
-            interpreter.runViaPrompt();
+        }
+
+        final var interpreter = new LoxInterpreter(engine, maxDepth, foldConstants);
+
+        final Runnable run = () -> {
+            if (scripts.length == 1) {
+                interpreter.runViaSourceFile(scripts[0]);
+            } else {
+                interpreter.runViaPrompt();
+            }
+        };
+
+        final var thread = new Thread(null, run, "lox", stackSizeMb * 1024 * 1024);
+
+        thread.start();
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
     private static void displayIncorrectUsageMessageAndExit() {
-        System.out.println("Usage: jlox <script>");
+        System.out.println("Usage: jlox [--vm | --closures] [--stack-size=<MiB>] [--max-depth=<calls>] [--no-fold] <script>");
 
         System.exit(ExitCodes.EX_USAGE.code());
     }
@@ -52,6 +52,10 @@ public final class LoxErrorHandler {
 			System.err.printf("%s", error.getMessage());
 		}
 
+		if (error.trace != null) {
+			error.trace.forEach(frame -> System.err.printf("\n    %s", frame));
+		}
+
 		mHadRuntimeError = true;
 	}
 
@@ -1,9 +1,13 @@
 package com.lang.lox.error;
 
+import java.util.List;
+
 import com.lang.lox.scanner.token.Token;
 
 public class LoxRuntimeError extends RuntimeException {
 	public Token token;
+	// The Lox calls that were in progress, innermost first, when the error calls for them
+	public List<String> trace = null;
 
 	public LoxRuntimeError(final Token token, final String message) {
 		super(message);
@@ -1,24 +1,60 @@
 package com.lang.lox.interpreter;
 
 import com.lang.lox.error.LoxErrorHandler;
+import com.lang.lox.nodes.NodeInterpreter;
 import com.lang.lox.resolver.Resolver;
+import com.lang.lox.syntax.MemberAccess;
 import com.lang.lox.syntax.Stmt;
+import com.lang.lox.vm.VirtualMachine;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public final class CodeInterpreter {
-    final Interpreter mInterpreter = new Interpreter();
+    public static final int DEFAULT_MAX_CALL_DEPTH = 100_000;
+
+    final Interpreter mInterpreter;
+    final NodeInterpreter mNodeInterpreter;
+    final VirtualMachine mVirtualMachine;
+    final Map<String, MemberAccess> mMembers = new HashMap<>();
+
+    public CodeInterpreter() {
+        this(ExecutionEngine.TREE_WALKER);
+    }
+
+    public CodeInterpreter(final ExecutionEngine engine) {
+        this(engine, DEFAULT_MAX_CALL_DEPTH);
+    }
+
+    public CodeInterpreter(final ExecutionEngine engine, final int maxCallDepth) {
+        mInterpreter = engine == ExecutionEngine.TREE_WALKER ? new Interpreter(maxCallDepth) : null;
+        mNodeInterpreter = engine == ExecutionEngine.CLOSURE_COMPILER ? new NodeInterpreter(maxCallDepth) : null;
+        mVirtualMachine = engine == ExecutionEngine.BYTECODE_VM ? new VirtualMachine(maxCallDepth) : null;
+    }
 
     public void resolveVariableScopes(final List<Stmt> syntaxTree, final LoxErrorHandler errorHandler) {
-        var resolver = new Resolver(mInterpreter, errorHandler);
+        var resolver = new Resolver(mMembers, errorHandler);
         resolver.resolve(syntaxTree);
     }
 
     public void interpret(final List<Stmt> statements, final LoxErrorHandler loxErrorHandler) {
-        mInterpreter.interpret(statements, loxErrorHandler);
+        if (mVirtualMachine != null) {
+            mVirtualMachine.interpret(statements, loxErrorHandler);
+        } else if (mNodeInterpreter != null) {
+            mNodeInterpreter.interpret(statements, loxErrorHandler);
+        } else {
+            mInterpreter.interpret(statements, loxErrorHandler);
+        }
     }
 
     public void printExpressionStatements(final boolean printExpressionStatements) {
-        mInterpreter.printExpressionStatements(printExpressionStatements);
+        if (mVirtualMachine != null) {
+            mVirtualMachine.printExpressionStatements(printExpressionStatements);
+        } else if (mNodeInterpreter != null) {
+            mNodeInterpreter.printExpressionStatements(printExpressionStatements);
+        } else {
+            mInterpreter.printExpressionStatements(printExpressionStatements);
+        }
     }
 }
@@ -0,0 +1,8 @@
+package com.lang.lox.interpreter;
+
+public enum Completion {
+    NORMAL,
+    BREAK,
+    CONTINUE,
+    RETURN
+}
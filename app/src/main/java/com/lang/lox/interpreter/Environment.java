@@ -1,25 +1,27 @@
 package com.lang.lox.interpreter;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 public final class Environment {
     private final Environment enclosing;
 
-    private final List<Object> values = new ArrayList<>();
+    private final Object[] values;
 
-    public Environment(final Environment enclosingEnvironment) {
+    private int count = 0;
+
+    public Environment(final Environment enclosingEnvironment, final int size) {
         enclosing = enclosingEnvironment;
+        values = new Object[size];
     }
 
     public void define(final Object value) {
-        values.add(value);
+        values[count++] = value;
     }
 
     public Object getAt(final int distance, final int slot) {
         var ancestor = ancestor(distance);
 
-        return ancestor != null ? ancestor.values.get(slot) : null;
+        return ancestor != null ? ancestor.values[slot] : null;
     }
 
     public Object getThisObject() {
@@ -27,7 +29,7 @@ public final class Environment {
     }
 
     public void assignAt(final int distance, final int slot, final Object value) {
-        ancestor(distance).values.set(slot, value);
+        ancestor(distance).values[slot] = value;
     }
 
     private Environment ancestor(int distance) {
@@ -42,7 +44,7 @@ public final class Environment {
 
     @Override
     public String toString() {
-        String result = values.toString();
+        String result = Arrays.toString(Arrays.copyOf(values, count));
         if (enclosing != null) {
             result += " -> " + enclosing;
         }
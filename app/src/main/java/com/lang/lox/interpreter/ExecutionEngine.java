@@ -0,0 +1,7 @@
+package com.lang.lox.interpreter;
+
+public enum ExecutionEngine {
+    TREE_WALKER,
+    CLOSURE_COMPILER,
+    BYTECODE_VM
+}
@@ -7,12 +7,12 @@ import com.lang.lox.interpreter.builtins.clss.LoxClass;
 import com.lang.lox.interpreter.builtins.clss.LoxInstance;
 import com.lang.lox.interpreter.builtins.clss.LoxMetaClass;
 import com.lang.lox.interpreter.builtins.clss.MemberAccessor;
-import com.lang.lox.interpreter.builtins.LoxReturn;
 import com.lang.lox.interpreter.builtins.callables.LoxCallable;
 import com.lang.lox.interpreter.builtins.callables.LoxFunction;
 import com.lang.lox.interpreter.builtins.callables.LoxLambda;
 import com.lang.lox.scanner.token.Token;
 import com.lang.lox.scanner.token.TokenType;
+import com.lang.lox.syntax.CountedLoop;
 import com.lang.lox.syntax.Expr;
 import com.lang.lox.syntax.Stmt;
 import com.lang.lox.syntax.Expr.Get;
@@ -21,31 +21,38 @@ import com.lang.lox.syntax.Expr.Super;
 import com.lang.lox.syntax.Expr.This;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
-public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Object> {
+public final class Interpreter implements Stmt.Visitor<Completion>, Expr.Visitor<Object> {
 	private boolean mPrintExpressionStatements = false;
 
 	private Environment mEnvironment;
 
 	private final Map<String, Object> mGlobals = new HashMap<>();
-	private final Map<Expr, Integer> mLocals = new HashMap<>();
-	private final Map<Expr, Integer> mSlots = new HashMap<>();
 
-	private boolean mIsWithinClass = false;
 	private boolean mWasPriorExprSuperConstructor = false;
 
-	private static class BreakException extends RuntimeException {
-	}
+	private Object mReturnValue = null;
 
-	private static class ContinueException extends RuntimeException {
-	}
+	// Returned in place of a call made in tail position, which the nearest enclosing call then makes itself
+	private static final Object TAIL_CALL = new Object();
+	private LoxCallable mTailCallee = null;
+	private Object mTailCallReceiver = null;
+	private List<Object> mTailCallArguments = null;
 
-	Interpreter() {
+	// The Lox calls in progress, innermost last, which bound recursion and describe it when it runs away
+	private static final int MAX_TRACE_LENGTH = 10;
+	private final int mMaxCallDepth;
+	private int mCallDepth = 0;
+	private LoxCallable[] mCallees = new LoxCallable[64];
+	private Token[] mCallSites = new Token[64];
+
+	Interpreter(final int maxCallDepth) {
+		mMaxCallDepth = maxCallDepth;
 		LoxPrelude.load(mGlobals);
 	}
 
@@ -58,96 +65,102 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 			statements.forEach(this::execute);
 		} catch (LoxRuntimeError error) {
 			loxErrorHandler.runtimeError(error);
+		} catch (StackOverflowError error) {
+			loxErrorHandler.runtimeError(stackOverflow(null));
+		} finally {
+			// Calls cut short by an error never leave the call stack themselves
+			mCallDepth = 0;
 		}
 	}
 
-	public void execute(final Stmt stmt) {
-		stmt.accept(this);
+	public Completion execute(final Stmt stmt) {
+		return stmt.accept(this);
 	}
 
 	@Override
-	public Void visitExpressionStmt(Stmt.Expression stmt) {
+	public Completion visitExpressionStmt(Stmt.Expression stmt) {
 		final var value = evaluate(stmt.expression);
 
 		if (mPrintExpressionStatements) {
-			System.out.println(stringify(value));
+			System.out.println(LoxOperators.stringify(value));
 		}
 
-		return null;
+		return Completion.NORMAL;
 	}
 
 	@Override
-	public Void visitIfStmt(Stmt.If stmt) {
-		final Runnable evaluateElseBranch = () -> {
-			final var elseBranch = stmt.elseBranch;
-
-			if (elseBranch != null) {
-				execute(stmt.elseBranch);
-			}
-		};
-
-		if (isTruthy(evaluate(stmt.condition))) {
-			execute(stmt.thenBranch);
-		} else {
-			evaluateElseBranch.run();
+	public Completion visitIfStmt(Stmt.If stmt) {
+		if (LoxOperators.isTruthy(evaluate(stmt.condition))) {
+			return execute(stmt.thenBranch);
 		}
 
-		return null;
+		final var elseBranch = stmt.elseBranch;
+
+		return elseBranch != null ? execute(elseBranch) : Completion.NORMAL;
 	}
 
 	@Override
-	public Void visitFunctionStmt(Stmt.Function stmt) {
+	public Completion visitFunctionStmt(Stmt.Function stmt) {
 		var function = new LoxFunction(stmt, mEnvironment, false, stmt.visibility);
 		define(stmt.name, function);
-		return null;
+		return Completion.NORMAL;
 	}
 
 	@Override
-	public Void visitBreakStmt(Stmt.Break stmt) {
-		throw new BreakException();
+	public Completion visitBreakStmt(Stmt.Break stmt) {
+		return Completion.BREAK;
 	}
 
 	@Override
-	public Void visitContinueStmt(Stmt.Continue stmt) {
-		throw new ContinueException();
+	public Completion visitContinueStmt(Stmt.Continue stmt) {
+		return Completion.CONTINUE;
 	}
 
 	@Override
-	public Void visitAssertStmt(Stmt.Assert stmt) {
-		final var isTrue = isTruthy(evaluate(stmt.expression));
+	public Completion visitAssertStmt(Stmt.Assert stmt) {
+		final var isTrue = LoxOperators.isTruthy(evaluate(stmt.expression));
 
 		if (isTrue) {
 			throw new LoxRuntimeError(stmt.message, stmt.message.lexeme);
 		}
 
-		return null;
+		return Completion.NORMAL;
 	}
 
 	@Override
-	public Void visitBlockStmt(Stmt.Block stmt) {
-		executeBlock(stmt.statements, new Environment(mEnvironment));
-		return null;
+	public Completion visitBlockStmt(Stmt.Block stmt) {
+		return executeBlock(stmt.statements, new Environment(mEnvironment, stmt.frameSize));
 	}
 
-	public void executeBlock(final List<Stmt> statements, final Environment environment) {
+	public Completion executeBlock(final List<Stmt> statements, final Environment environment) {
 		final var previous = mEnvironment;
 
-		final Runnable executeStatements = () -> {
+		try {
 			mEnvironment = environment;
 
-			statements.forEach(this::execute);
-		};
+			for (final var statement : statements) {
+				final var completion = execute(statement);
 
-		try {
-			executeStatements.run();
+				if (completion != Completion.NORMAL) {
+					return completion;
+				}
+			}
+
+			return Completion.NORMAL;
 		} finally {
 			mEnvironment = previous;
 		}
 	}
 
+	public Object consumeReturnValue() {
+		final var value = mReturnValue;
+		mReturnValue = null;
+		return value;
+	}
+
 	@Override
-	public Void visitClassStmt(Stmt.Class stmt) {
-		final var classEnvironment = new Environment(mEnvironment);
+	public Completion visitClassStmt(Stmt.Class stmt) {
+		final var classEnvironment = new Environment(mEnvironment, 1);
 		final var classFields = stmt.classFields;
 		final var metaClassFields = new HashMap<String, Field<Object>>();
 
@@ -209,11 +222,11 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 		 * definition, we create a new environment.
 		 */
 
-		return null;
+		return Completion.NORMAL;
 	}
 
 	@Override
-	public Void visitLetStmt(Stmt.Let stmt) {
+	public Completion visitLetStmt(Stmt.Let stmt) {
 		Object value = null;
 
 		final var initializer = stmt.initializer;
@@ -224,7 +237,18 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 
 		define(stmt.name, value);
 
-		return null;
+		return Completion.NORMAL;
+	}
+
+	public Object evaluateIn(final Environment environment, final Expr expression) {
+		final var previous = mEnvironment;
+
+		try {
+			mEnvironment = environment;
+			return evaluate(expression);
+		} finally {
+			mEnvironment = previous;
+		}
 	}
 
 	public Object evaluateVarStmtIn(final Environment environment, final Stmt.Let stmt) {
@@ -259,71 +283,106 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 	}
 
 	private void update(final Expr.Variable variable, final Object value) {
-		final var inGlobalScope = mEnvironment == null;
-		if (inGlobalScope) {
-			mGlobals.put(variable.name.lexeme, value);
+		if (variable.isLocal()) {
+			mEnvironment.assignAt(variable.depth, variable.slot, value);
 		} else {
-			mEnvironment.assignAt(mLocals.get(variable), mSlots.get(variable), value);
+			mGlobals.put(variable.name.lexeme, value);
 		}
 	}
 
 	@Override
-	public Void visitWhileStmt(Stmt.While stmt) {
-		try {
-			while (isTruthy(evaluate(stmt.condition))) {
-				try {
-					execute(stmt.body);
-				} catch (ContinueException ignored) {
-					stmt.incrementer.ifPresent(this::execute);
-				}
+	public Completion visitWhileStmt(Stmt.While stmt) {
+		final var forBody = forBody(stmt);
+		final var countedLoop = stmt.countedLoop;
+
+		if (countedLoop != null && forBody != null && mEnvironment.getAt(0, countedLoop.slot) instanceof Double) {
+			return executeCountedLoop(countedLoop, forBody);
+		}
+
+		while (LoxOperators.isTruthy(evaluate(stmt.condition))) {
+			final var completion = forBody != null ? executeForBody(forBody, true) : execute(stmt.body);
+
+			if (completion == Completion.BREAK) {
+				break;
+			} else if (completion == Completion.RETURN) {
+				return completion;
 			}
-		} catch (BreakException ignored) {
 		}
 
-		return null;
+		return Completion.NORMAL;
 	}
 
-	public String stringify(Object value) {
-		if (value == null) {
-			return "nil";
+	// The body of a desugared "for" ends with its incrementer, which has to run even after "continue"
+	private static Stmt.Block forBody(final Stmt.While stmt) {
+		if (stmt.incrementer == null || stmt.incrementer.isEmpty() || !(stmt.body instanceof Stmt.Block)) {
+			return null;
 		}
 
-		if (value instanceof String) {
-			return ("\"" + value + "\"");
-		} else if (value instanceof Double) {
-			return Double.toString((double) value).replaceAll("\\.0", "");
-		} else if (value instanceof List<?>) {
-			return stringifyList((List<?>) value);
-		}
+		final var body = (Stmt.Block) stmt.body;
+		final var statements = body.statements;
 
-		return value.toString();
+		return !statements.isEmpty() && statements.get(statements.size() - 1) == stmt.incrementer.get() ? body
+				: null;
 	}
 
-	private String stringifyList(List<?> values) {
-		if (values.isEmpty()) {
-			return "[]";
+	// The counter is kept as a primitive and only stored to its slot, ahead of the condition, when something reads it
+	private Completion executeCountedLoop(final CountedLoop loop, final Stmt.Block body) {
+		final var environment = mEnvironment;
+		var counter = (double) environment.getAt(0, loop.slot);
+
+		while (true) {
+			if (loop.isCounterRead) {
+				environment.assignAt(0, loop.slot, counter);
+			}
+
+			if (!LoxOperators.compareCounter(loop.operator, counter, evaluate(loop.limit))) {
+				return Completion.NORMAL;
+			}
+
+			final var completion = executeForBody(body, false);
+
+			if (completion == Completion.BREAK) {
+				return Completion.NORMAL;
+			} else if (completion == Completion.RETURN) {
+				return completion;
+			}
+
+			counter += loop.step;
 		}
+	}
 
-		final var buffer = new StringBuilder("[");
+	private Completion executeForBody(final Stmt.Block body, final boolean runsIncrementer) {
+		final var statements = body.statements;
+		final var incrementer = statements.size() - 1;
+		final var previous = mEnvironment;
 
-		values.stream().limit(values.size() - 1)
-				.forEach(value -> buffer.append(Interpreter.this.stringify(value)).append(", "));
+		try {
+			mEnvironment = new Environment(previous, body.frameSize);
 
-		final var lastValue = stringify(values.get(values.size() - 1));
+			for (var i = 0; i < incrementer; ++i) {
+				final var completion = execute(statements.get(i));
 
-		buffer.append(lastValue).append("]");
+				if (completion == Completion.CONTINUE) {
+					break;
+				} else if (completion != Completion.NORMAL) {
+					return completion;
+				}
+			}
 
-		return buffer.toString();
+			return runsIncrementer ? execute(statements.get(incrementer)) : Completion.NORMAL;
+		} finally {
+			mEnvironment = previous;
+		}
 	}
 
 	@Override
 	public Object visitArrayExpr(Expr.Array expr) {
 		final var values = expr.values;
 
-		final List<Object> result = new ArrayList<>();
+		final var result = new LoxArray(values.size());
 
-		if (!values.isEmpty()) {
-			values.forEach(value -> result.add(evaluate(value)));
+		for (final var value : values) {
+			result.add(evaluate(value));
 		}
 
 		return result;
@@ -334,11 +393,9 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 		return lookupVariable(expr.name, expr);
 	}
 
-	private Object lookupVariable(final Token name, final Expr expr) {
-		final var scope = mLocals.get(expr);
-
-		if (scope != null) {
-			return mEnvironment.getAt(scope, mSlots.get(expr));
+	private Object lookupVariable(final Token name, final Expr.LocalReference expr) {
+		if (expr.isLocal()) {
+			return mEnvironment.getAt(expr.depth, expr.slot);
 		} else if (mGlobals.containsKey(name.lexeme)) {
 			return mGlobals.get(name.lexeme);
 		} else {
@@ -350,10 +407,8 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 	@Override
 	public Object visitAssignExpr(Expr.Assign expr) {
 		final var value = evaluate(expr.value);
-		final var distance = mLocals.get(expr);
-
-		if (distance != null) {
-			mEnvironment.assignAt(distance, mSlots.get(expr), value);
+		if (expr.isLocal()) {
+			mEnvironment.assignAt(expr.depth, expr.slot, value);
 		} else if (mGlobals.containsKey(expr.name.lexeme)) {
 			mGlobals.put(expr.name.lexeme, value);
 		} else {
@@ -366,41 +421,13 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 
 	@Override
 	public Object visitConditionalExpr(Expr.Conditional expr) {
-		return isTruthy(evaluate(expr.condition)) ? evaluate(expr.thenBranch) : evaluate(expr.elseBranch);
+		return LoxOperators.isTruthy(evaluate(expr.condition)) ? evaluate(expr.thenBranch) : evaluate(expr.elseBranch);
 	}
 
 	public Object evaluate(final Expr expression) {
 		return expression.accept(this);
 	}
 
-	private boolean isTruthy(final Object object) {
-		if (object == null)
-			return false;
-
-		if (object instanceof Double) {
-			return isTruthyNumber((double) object);
-		} else if (object instanceof Boolean) {
-			return (boolean) object;
-		} else if (object instanceof String) {
-			return isTruthyString((String) object);
-		} else if (object instanceof List) {
-			return isTruthyList((List<?>) object);
-		} else
-			return object instanceof LoxCallable;
-	}
-
-	private boolean isTruthyNumber(final double value) {
-		return value > 0;
-	}
-
-	private boolean isTruthyString(final String value) {
-		return !value.equals("");
-	}
-
-	private boolean isTruthyList(final List<?> value) {
-		return !value.isEmpty();
-	}
-
 	@Override
 	public Object visitBinaryExpr(Expr.Binary expr) {
 		final var left = evaluate(expr.left);
@@ -414,40 +441,38 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 			case COMMA:
 				return right;
 			case BANG_EQUAL:
-				return !isEqual(left, right);
+				return !LoxOperators.isEqual(left, right);
 			case EQUAL_EQUAL:
-				return isEqual(left, right);
+				return LoxOperators.isEqual(left, right);
 			case GREATER:
-				checkNumberOperands(expr.operator, left, right);
+				LoxOperators.checkNumberOperands(expr.operator, left, right);
 				return ((double) left) > ((double) right);
 			case GREATER_EQUAL:
-				checkNumberOperands(expr.operator, left, right);
+				LoxOperators.checkNumberOperands(expr.operator, left, right);
 				return ((double) left) >= ((double) right);
 			case LESS:
-				checkNumberOperands(expr.operator, left, right);
+				LoxOperators.checkNumberOperands(expr.operator, left, right);
 				return ((double) left) < ((double) right);
 			case LESS_EQUAL:
-				checkNumberOperands(expr.operator, left, right);
+				LoxOperators.checkNumberOperands(expr.operator, left, right);
 				return ((double) left) <= ((double) right);
 			case PLUS:
-				return addition(expr.operator, left, right);
+				return LoxOperators.addition(expr.operator, left, right);
 			case PLUS_PLUS:
-				return concatenate(expr.operator, left, right);
+				return LoxOperators.concatenate(expr.operator, left, right);
 			case INSERTION:
-				return insertInto(expr.operator, left, right);
+				return LoxOperators.insertInto(expr.operator, left, right);
 			case MINUS:
-				checkNumberOperands(expr.operator, left, right);
+				LoxOperators.checkNumberOperands(expr.operator, left, right);
 				return ((double) left) - ((double) right);
 			case SLASH:
-				return divide(expr.operator, left, right,
-						(leftOperand, rightOperand) -> leftOperand / rightOperand);
+				return LoxOperators.divide(expr.operator, left, right);
 			case STAR:
-				return multiply(expr.operator, left, right);
+				return LoxOperators.multiply(expr.operator, left, right);
 			case MOD:
-				return divide(expr.operator, left, right,
-						(leftOperand, rightOperand) -> leftOperand % rightOperand);
+				return LoxOperators.modulo(expr.operator, left, right);
 			case EXPONENT:
-				checkNumberOperands(expr.operator, left, right);
+				LoxOperators.checkNumberOperands(expr.operator, left, right);
 				return Math.pow(((double) left), ((double) right));
 			default:
 				return null;
@@ -455,158 +480,6 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 
 	}
 
-	@SuppressWarnings("unchecked")
-	private Object insertInto(final Token operator, final Object left, final Object right) {
-
-		if (left instanceof List) {
-			((List<Object>) left).add(right);
-			return left;
-		}
-
-		throw new LoxRuntimeError(operator, "Unsupported operands in insertion expression");
-	}
-
-	private Object divide(final Token operator, final Object left, final Object right,
-			final BiFunction<Double, Double, Double> divisionExpr) {
-		checkNumberOperands(operator, left, right);
-
-		final var leftOperand = ((double) left);
-
-		final var rightOperand = ((double) right);
-
-		if (rightOperand == 0) {
-			throw new LoxRuntimeError(operator, "Division by zero is not allowed");
-		}
-
-		return divisionExpr.apply(leftOperand, rightOperand);
-	}
-
-	private Object addition(final Token operator, final Object left, final Object right) {
-		if (left instanceof Double && right instanceof Double) {
-			return (double) left + (double) right;
-		}
-
-		if (left instanceof String && right instanceof Double) {
-			return (String) left + (double) right;
-		}
-
-		if (left instanceof String && right instanceof Boolean) {
-			return (String) left + (boolean) right;
-		}
-
-		throw new LoxRuntimeError(operator, "Unsupported operands in addition expression");
-	}
-
-	private boolean isEqual(final Object left, final Object right) {
-		if (left == null && right == null) {
-			return true;
-		}
-
-		if (left == null) {
-			return false;
-		}
-
-		return left.equals(right);
-	}
-
-	private void checkNumberOperands(final Token operator,
-			final Object left, final Object right) {
-		if (left instanceof Double && right instanceof Double)
-			return;
-
-		throw new LoxRuntimeError(operator, "Operands must be numbers.");
-	}
-
-	private Object concatenate(final Token operator, final Object left, final Object right) {
-		if (left instanceof String && right instanceof String) {
-			return concatenateStrings((String) left, (String) right);
-		}
-
-		if (left instanceof List && right instanceof List) {
-			return concatenateLists(
-					(List<?>) left, (List<?>) right);
-		}
-
-		throw new LoxRuntimeError(operator, "Unsupported operands in concatenation expression");
-	}
-
-	private String concatenateStrings(String left, String right) {
-		if (left.isEmpty()) {
-			return right;
-		} else if (right.isEmpty()) {
-			return left;
-		}
-
-		return (left + right);
-	}
-
-	private List<?> concatenateLists(final List<?> left, final List<?> right) {
-		final List<Object> newList = new ArrayList<>();
-
-		if (!left.isEmpty()) {
-			newList.addAll(left);
-		}
-
-		if (!right.isEmpty()) {
-			newList.addAll(right);
-		}
-
-		return newList;
-	}
-
-	@SuppressWarnings("unchecked")
-	private Object multiply(Token operator, Object left, Object right) {
-		if (left instanceof Double && right instanceof Double) {
-			return ((double) left) * ((double) right);
-		}
-
-		if (left instanceof String && right instanceof Double) {
-			return multiplyString((String) left, (double) right);
-		}
-
-		if (left instanceof List && right instanceof Double) {
-			return multiplyList((List<Object>) left, (double) right);
-		}
-
-		throw new LoxRuntimeError(operator, "Unsupported operands in multiplication expression");
-	}
-
-	private Object multiplyString(final String left, final double times) {
-		if (times == 0) {
-			return "";
-		} else if (times == 1) {
-			return left;
-		}
-
-		final var builder = new StringBuilder();
-
-		final double repeat = Math.round(times);
-
-		for (int i = 0; i < repeat; ++i) {
-			builder.append(left);
-		}
-
-		return builder.toString();
-	}
-
-	private Object multiplyList(final List<Object> list, final double times) {
-		final List<Object> result = new ArrayList<>();
-
-		if (times == 0) {
-			return result;
-		} else if (times == 1) {
-			return list;
-		} else if (list.isEmpty()) {
-			return result;
-		}
-
-		for (int i = 0; i < times; ++i) {
-			result.addAll(list);
-		}
-
-		return result;
-	}
-
 	@Override
 	public Object visitGroupingExpr(Expr.Grouping expr) {
 		return evaluate(expr.expression);
@@ -623,37 +496,29 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 
 		switch (expr.operator.type) {
 			case BANG:
-				return !isTruthy(right);
+				return !LoxOperators.isTruthy(right);
 			case MINUS:
-				checkNumberOperand(expr.operator, right);
+				LoxOperators.checkNumberOperand(expr.operator, right);
 				return -((double) right);
 			case PLUS:
-				checkNumberOperand(expr.operator, right);
+				LoxOperators.checkNumberOperand(expr.operator, right);
 				return right;
 			default:
 				return null;
 		}
 	}
 
-	private void checkNumberOperand(Token operator, Object operand) {
-		if (operand instanceof Double) {
-			return;
-		}
-
-		throw new LoxRuntimeError(operator, "Operand must be a number.");
-	}
-
 	@Override
 	public Object visitLogicalExpr(Expr.Logical expr) {
 		final var leftOperand = evaluate(expr.left);
 
 		final var operatorToken = expr.operator.type;
 		if (operatorToken == TokenType.OR) {
-			if (isTruthy(leftOperand)) {
+			if (LoxOperators.isTruthy(leftOperand)) {
 				return leftOperand;
 			}
 		} else if (operatorToken == TokenType.AND) {
-			if (!isTruthy(leftOperand)) {
+			if (!LoxOperators.isTruthy(leftOperand)) {
 				return leftOperand;
 			}
 		}
@@ -667,24 +532,16 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 
 		switch (expr.operator.type) {
 			case PLUS_PLUS:
-				checkNumberValue(expr.operator, varValue);
+				LoxOperators.checkNumberValue(expr.operator, varValue);
 				return postfixIncrementVar(expr.left, (double) varValue);
 			case MINUS_MINUS:
-				checkNumberValue(expr.operator, varValue);
+				LoxOperators.checkNumberValue(expr.operator, varValue);
 				return postfixDecrementVar(expr.left, (double) varValue);
 			default:
 				throw new LoxRuntimeError(expr.operator, "Unknown operator");
 		}
 	}
 
-	private void checkNumberValue(Token operator, Object operand) {
-		if (operand instanceof Double) {
-			return;
-		}
-
-		throw new LoxRuntimeError(operator, "Value must be a number.");
-	}
-
 	private double postfixIncrementVar(final Expr.Variable variable, double right) {
 		update(variable, right + 1);
 		return right;
@@ -701,10 +558,10 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 
 		switch (expr.operator.type) {
 			case PLUS_PLUS:
-				checkNumberValue(expr.operator, varValue);
+				LoxOperators.checkNumberValue(expr.operator, varValue);
 				return prefixIncrementVar(expr.right, (double) varValue);
 			case MINUS_MINUS:
-				checkNumberValue(expr.operator, varValue);
+				LoxOperators.checkNumberValue(expr.operator, varValue);
 				return prefixDecrementVar(expr.right, (double) varValue);
 			default:
 				throw new LoxRuntimeError(expr.operator, "Unknown operator");
@@ -723,59 +580,286 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 
 	@Override
 	public Object visitCallExpr(Expr.Call expr) {
-		var callee = evaluate(expr.callee);
+		if (!(expr.callee instanceof Expr.Get)) {
+			return call(expr, evaluate(expr.callee));
+		}
+
+		final var get = (Expr.Get) expr.callee;
+		final var object = evaluate(get.object);
+
+		if (object instanceof LoxInstance) {
+			final var method = ((LoxInstance) object).findMethod(get.name, get.accessOccursWithinClass,
+					get.access.requiresCheck(get.accessOccursWithinClass), get.cache);
+
+			if (method != null) {
+				final var result = completeTailCalls(invoke(expr, method, object));
+
+				--mCallDepth;
+
+				mWasPriorExprSuperConstructor = false;
+
+				return result;
+			}
+		}
+
+		return call(expr, getProperty(get, object));
+	}
+
+	// Up to four arguments are handed to the callee directly rather than through a list
+	private Object call(final Expr.Call expr, final Object callee) {
+		final var args = expr.arguments;
+		final Object result;
+
+		switch (args.size()) {
+			case 0: {
+				final var function = enterCall(expr, callable(expr, callee, 0));
+				result = completeCall(mWasPriorExprSuperConstructor, function, function.call(this));
+				break;
+			}
+			case 1: {
+				final var first = evaluate(args.get(0));
+				final var function = enterCall(expr, callable(expr, callee, 1));
+				result = completeCall(mWasPriorExprSuperConstructor, function, function.call(this, first));
+				break;
+			}
+			case 2: {
+				final var first = evaluate(args.get(0));
+				final var second = evaluate(args.get(1));
+				final var function = enterCall(expr, callable(expr, callee, 2));
+				result = completeCall(mWasPriorExprSuperConstructor, function,
+						function.call(this, first, second));
+				break;
+			}
+			case 3: {
+				final var first = evaluate(args.get(0));
+				final var second = evaluate(args.get(1));
+				final var third = evaluate(args.get(2));
+				final var function = enterCall(expr, callable(expr, callee, 3));
+				result = completeCall(mWasPriorExprSuperConstructor, function,
+						function.call(this, first, second, third));
+				break;
+			}
+			case 4: {
+				final var first = evaluate(args.get(0));
+				final var second = evaluate(args.get(1));
+				final var third = evaluate(args.get(2));
+				final var fourth = evaluate(args.get(3));
+				final var function = enterCall(expr, callable(expr, callee, 4));
+				result = completeCall(mWasPriorExprSuperConstructor, function,
+						function.call(this, first, second, third, fourth));
+				break;
+			}
+			default: {
+				final var arguments = evaluateArguments(expr);
+				final var function = enterCall(expr, callable(expr, callee, arguments.size()));
+				result = completeCall(mWasPriorExprSuperConstructor, function, function.call(this, arguments));
+			}
+		}
+
+		mWasPriorExprSuperConstructor = false;
+
+		return result;
+	}
+
+	private Object invoke(final Expr.Call expr, final LoxFunction method, final Object receiver) {
+		final var args = expr.arguments;
+
+		switch (args.size()) {
+			case 0: {
+				checkArity(expr, method, 0);
+				enterCall(expr, method);
+				return method.invoke(receiver, this);
+			}
+			case 1: {
+				final var first = evaluate(args.get(0));
+				checkArity(expr, method, 1);
+				enterCall(expr, method);
+				return method.invoke(receiver, this, first);
+			}
+			case 2: {
+				final var first = evaluate(args.get(0));
+				final var second = evaluate(args.get(1));
+				checkArity(expr, method, 2);
+				enterCall(expr, method);
+				return method.invoke(receiver, this, first, second);
+			}
+			case 3: {
+				final var first = evaluate(args.get(0));
+				final var second = evaluate(args.get(1));
+				final var third = evaluate(args.get(2));
+				checkArity(expr, method, 3);
+				enterCall(expr, method);
+				return method.invoke(receiver, this, first, second, third);
+			}
+			case 4: {
+				final var first = evaluate(args.get(0));
+				final var second = evaluate(args.get(1));
+				final var third = evaluate(args.get(2));
+				final var fourth = evaluate(args.get(3));
+				checkArity(expr, method, 4);
+				enterCall(expr, method);
+				return method.invoke(receiver, this, first, second, third, fourth);
+			}
+			default: {
+				final var arguments = evaluateArguments(expr);
+				checkArity(expr, method, arguments.size());
+				enterCall(expr, method);
+				return method.invoke(receiver, this, arguments);
+			}
+		}
+	}
+
+	private Object tailCall(final Expr.Call expr) {
+		Object receiver = null;
+		Object callee;
+
+		if (expr.callee instanceof Expr.Get) {
+			final var get = (Expr.Get) expr.callee;
+			final var object = evaluate(get.object);
+			final var method = object instanceof LoxInstance
+					? ((LoxInstance) object).findMethod(get.name, get.accessOccursWithinClass,
+							get.access.requiresCheck(get.accessOccursWithinClass), get.cache)
+					: null;
+
+			if (method != null) {
+				receiver = object;
+				callee = method;
+			} else {
+				callee = getProperty(get, object);
+			}
+		} else {
+			callee = evaluate(expr.callee);
+		}
+
+		final var arguments = evaluateArguments(expr);
+		final var function = callable(expr, callee, arguments.size());
+
+		mWasPriorExprSuperConstructor = false;
+
+		if (!(function instanceof LoxFunction) && !(function instanceof LoxLambda)) {
+			return function.call(this, arguments);
+		}
 
-		var arguments = new ArrayList<>();
+		mTailCallee = function;
+		mTailCallReceiver = receiver;
+		mTailCallArguments = arguments;
 
+		return TAIL_CALL;
+	}
+
+	private Object completeTailCalls(Object result) {
+		while (result == TAIL_CALL) {
+			final var function = mTailCallee;
+			final var receiver = mTailCallReceiver;
+			final var arguments = mTailCallArguments;
+
+			mTailCallee = null;
+			mTailCallReceiver = null;
+			mTailCallArguments = null;
+
+			mCallees[mCallDepth - 1] = function;
+
+			result = receiver != null ? ((LoxFunction) function).invoke(receiver, this, arguments)
+					: function.call(this, arguments);
+		}
+
+		return result;
+	}
+
+	private List<Object> evaluateArguments(final Expr.Call expr) {
 		final var args = expr.arguments;
-		if (!args.isEmpty()) {
-			args.forEach(argument -> arguments.add(evaluate(argument)));
+		final var arguments = new ArrayList<>(args.size());
+
+		for (final var argument : args) {
+			arguments.add(evaluate(argument));
 		}
 
+		return arguments;
+	}
+
+	private static LoxCallable callable(final Expr.Call expr, final Object callee, final int argumentCount) {
 		if (!(callee instanceof LoxCallable)) {
 			throw new LoxRuntimeError(expr.paren, "Object is not callable");
 		}
 
-		var function = (LoxCallable) callee;
+		final var function = (LoxCallable) callee;
+
+		checkArity(expr, function, argumentCount);
+
+		return function;
+	}
 
+	private static void checkArity(final Expr.Call expr, final LoxCallable function, final int argumentCount) {
 		final var arity = function.arity();
 		if (!function.hasDefaultParameters() && arity != LoxCallable.MAX_ARGS &&
-				arguments.size() != arity) {
+				argumentCount != arity) {
 			throw new LoxRuntimeError(expr.paren, "Expected " +
 					arity + " argument(s) but got " +
-					arguments.size() + ".");
+					argumentCount + ".");
 		}
+	}
 
-		final var result = evaluateFunctionCallResult(mWasPriorExprSuperConstructor, function, arguments);
+	private Object completeCall(final boolean wasPriorExprSuperClassConstructor, final LoxCallable function,
+			final Object result) {
+		final var value = completeTailCalls(result);
 
-		mWasPriorExprSuperConstructor = false;
+		--mCallDepth;
 
-		return result;
+		if (wasPriorExprSuperClassConstructor && function instanceof LoxClass) {
+			((LoxInstance) mEnvironment.getThisObject()).setSuperClassInstance((LoxInstance) value);
+			return null;
+		}
+
+		return value;
 	}
 
-	private Object evaluateFunctionCallResult(final boolean wasPriorExprSuperClassConstructor,
-			final LoxCallable function, final List<Object> arguments) {
+	private LoxCallable enterCall(final Expr.Call expr, final LoxCallable function) {
+		if (mCallDepth == mMaxCallDepth) {
+			throw stackOverflow(expr.paren);
+		}
 
-		final var result = function.call(this, arguments);
+		if (mCallDepth == mCallees.length) {
+			mCallees = Arrays.copyOf(mCallees, mCallDepth * 2);
+			mCallSites = Arrays.copyOf(mCallSites, mCallDepth * 2);
+		}
 
-		if (wasPriorExprSuperClassConstructor && function instanceof LoxClass) {
-			((LoxInstance) mEnvironment.getThisObject()).setSuperClassInstance((LoxInstance) result);
-			return null;
+		mCallees[mCallDepth] = function;
+		mCallSites[mCallDepth] = expr.paren;
+		++mCallDepth;
+
+		return function;
+	}
+
+	private LoxRuntimeError stackOverflow(final Token callSite) {
+		final var error = new LoxRuntimeError(callSite, "Stack overflow.");
+		final var shown = Math.min(mCallDepth, MAX_TRACE_LENGTH);
+
+		error.trace = new ArrayList<>(shown + 1);
+
+		for (var i = mCallDepth - 1; i >= mCallDepth - shown; --i) {
+			error.trace.add("at " + mCallees[i] + " [line " + mCallSites[i].line + "]");
 		}
 
-		return result;
+		if (mCallDepth > shown) {
+			error.trace.add("... " + (mCallDepth - shown) + " more");
+		}
+
+		return error;
 	}
 
 	@Override
 	public Object visitGetExpr(Get expr) {
-		final var object = evaluate(expr.object);
-		final var isWithinClass = mIsWithinClass;
-		mIsWithinClass = false;
+		return getProperty(expr, evaluate(expr.object));
+	}
+
+	private Object getProperty(final Get expr, final Object object) {
+		final var isWithinClass = expr.accessOccursWithinClass;
+		final var checksAccess = expr.access.requiresCheck(isWithinClass);
 
 		if (object instanceof LoxInstance) {
-			return ((LoxInstance) object).get(expr.name, isWithinClass);
+			return ((LoxInstance) object).get(expr.name, isWithinClass, checksAccess, expr.cache);
 		} else if (object instanceof LoxClass) {
-			return ((LoxClass) object).get(expr.name, isWithinClass);
+			return ((LoxClass) object).get(expr.name, isWithinClass, checksAccess);
 		}
 
 		throw new LoxRuntimeError(expr.name, "Is not a class or instance of a class");
@@ -784,20 +868,20 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 	@Override
 	public Object visitSetExpr(Set expr) {
 		final var object = evaluate(expr.object);
-		final var isWithinClass = mIsWithinClass;
-		mIsWithinClass = false;
+		final var isWithinClass = expr.accessOccursWithinClass;
+		final var checksAccess = expr.access.requiresCheck(isWithinClass);
 
 		if (object instanceof LoxInstance) {
 			final var value = evaluate(expr.value);
 			final var instance = ((LoxInstance) object);
 
-			instance.set(expr.name, value, isWithinClass);
+			instance.set(expr.name, value, isWithinClass, checksAccess, expr.cache);
 			return value;
 		} else if (object instanceof LoxClass) {
 			final var value = evaluate(expr.value);
 			final var instance = ((LoxClass) object);
 
-			instance.set(expr.name, value, isWithinClass);
+			instance.set(expr.name, value, isWithinClass, checksAccess);
 			return value;
 		}
 
@@ -806,7 +890,6 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 
 	@Override
 	public Object visitThisExpr(This expr) {
-		mIsWithinClass = true;
 		return lookupVariable(expr.keyword, expr);
 	}
 
@@ -826,14 +909,18 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 	}
 
 	@Override
-	public Void visitReturnStmt(Stmt.Return stmt) {
+	public Completion visitReturnStmt(Stmt.Return stmt) {
 		Object value = null;
 
-		if (stmt.value != null) {
+		if (stmt.value instanceof Expr.Call && ((Expr.Call) stmt.value).isTailCall) {
+			value = tailCall((Expr.Call) stmt.value);
+		} else if (stmt.value != null) {
 			value = evaluate(stmt.value);
 		}
 
-		throw new LoxReturn(value);
+		mReturnValue = value;
+
+		return Completion.RETURN;
 	}
 
 	public Object visitLambdaExpr(Expr.Lambda expr) {
@@ -842,45 +929,8 @@ public final class Interpreter implements Stmt.Visitor<Void>, Expr.Visitor<Objec
 
 	@Override
 	public Object visitSubscriptExpr(Expr.Subscript expr) {
-		var callee = evaluate(expr.callee);
-
-		if (!(callee instanceof List<?>)) {
-			throw new LoxRuntimeError(expr.bracket, "Object is not subscript-able");
-		}
-
-		var indexValue = toNumeric(evaluate(expr.index));
-
-		var array = (List<?>) callee;
-
-		checkArraySize(array.size(), indexValue, expr.bracket);
-
-		return array.get(indexValue);
-	}
-
-	private void checkArraySize(final int arraySize, final int indexValue, final Token source) {
-		if (arraySize == 0 || indexValue > arraySize || indexValue < 0) {
-			throw new LoxRuntimeError(source, "Array index out of bounds");
-		}
-	}
-
-	private int toNumeric(Object value) {
-		if (value instanceof Boolean) {
-			return (((boolean) value) ? 1 : 0);
-		} else if (value instanceof String) {
-			return (isTruthyString((String) value) ? 1 : 0);
-		} else if (value instanceof List<?>) {
-			return (isTruthyList((List<?>) value) ? 1 : 0);
-		} else if (value instanceof LoxCallable) {
-			return 1;
-		} else if (value == null) {
-			return 0;
-		}
-
-		return ((int) Math.floor((double) value));
-	}
+		final var callee = evaluate(expr.callee);
 
-	public void resolve(final Expr expr, final int depth, final int slot) {
-		mLocals.put(expr, depth);
-		mSlots.put(expr, slot);
+		return LoxOperators.subscript(expr.bracket, callee, evaluate(expr.index));
 	}
 }
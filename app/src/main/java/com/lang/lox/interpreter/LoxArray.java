@@ -0,0 +1,151 @@
+package com.lang.lox.interpreter;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+// A Lox array. Arrays joined onto one another share a store that only ever grows at its end. Only the newest array
+// on a store, the one that ends where the store does, avoids a copy: concatenating onto or inserting into it extends
+// the store in place, while every array made before it keeps seeing an unchanged prefix. Growing any older array,
+// concatenating onto something that isn't a LoxArray and repeating an array all copy every element, as a plain
+// list would.
+// A store holds plain doubles for as long as only numbers are put in it and switches to boxed objects for good
+// on the first element that isn't one
+public final class LoxArray extends AbstractList<Object> implements RandomAccess {
+    private static final int MIN_CAPACITY = 8;
+
+    private static final class Store {
+        // Exactly one of these is in use
+        private double[] mNumbers;
+        private Object[] mItems = null;
+        private int mSize = 0;
+
+        Store(final int capacity) {
+            mNumbers = new double[Math.max(capacity, MIN_CAPACITY)];
+        }
+
+        // A copy of the first "size" elements, kept in the same form
+        Store(final Store store, final int size, final int extraCapacity) {
+            final var capacity = Math.max(size + extraCapacity, MIN_CAPACITY);
+
+            if (store.mItems != null) {
+                mNumbers = null;
+                mItems = Arrays.copyOf(store.mItems, capacity);
+            } else {
+                mNumbers = Arrays.copyOf(store.mNumbers, capacity);
+            }
+
+            mSize = size;
+        }
+
+        Object get(final int index) {
+            return mItems != null ? mItems[index] : (Double) mNumbers[index];
+        }
+
+        void add(final Object value) {
+            if (mItems == null) {
+                if (value instanceof Double) {
+                    if (mSize == mNumbers.length) {
+                        mNumbers = Arrays.copyOf(mNumbers, mSize * 2);
+                    }
+
+                    mNumbers[mSize++] = (double) value;
+                    return;
+                }
+
+                generalize();
+            }
+
+            if (mSize == mItems.length) {
+                mItems = Arrays.copyOf(mItems, mSize * 2);
+            }
+
+            mItems[mSize++] = value;
+        }
+
+        private void generalize() {
+            mItems = new Object[mNumbers.length];
+
+            for (var i = 0; i < mSize; ++i) {
+                mItems[i] = mNumbers[i];
+            }
+
+            mNumbers = null;
+        }
+    }
+
+    private Store mStore;
+    private int mSize;
+
+    public LoxArray(final int capacity) {
+        this(new Store(capacity), 0);
+    }
+
+    private LoxArray(final Store store, final int size) {
+        mStore = store;
+        mSize = size;
+    }
+
+    public static LoxArray concatenate(final List<?> left, final List<?> right) {
+        final var result = left instanceof LoxArray ? ((LoxArray) left).extensible(right.size())
+                : new LoxArray(left.size() + right.size()).appendAll(left);
+
+        return result.appendAll(right);
+    }
+
+    public static LoxArray repeat(final List<?> values, final double times) {
+        final var result = new LoxArray((int) Math.ceil(times) * values.size());
+
+        for (int i = 0; i < times; ++i) {
+            result.appendAll(values);
+        }
+
+        return result;
+    }
+
+    // An array holding this one's elements whose store it may grow
+    private LoxArray extensible(final int extraCapacity) {
+        if (mStore.mSize == mSize) {
+            return new LoxArray(mStore, mSize);
+        }
+
+        return new LoxArray(new Store(mStore, mSize, extraCapacity), mSize);
+    }
+
+    private LoxArray appendAll(final List<?> values) {
+        // Captured up front since an array can be appended to itself
+        final var count = values.size();
+
+        for (var i = 0; i < count; ++i) {
+            add(values.get(i));
+        }
+
+        return this;
+    }
+
+    @Override
+    public boolean add(final Object value) {
+        if (mStore.mSize != mSize) {
+            mStore = extensible(1).mStore;
+        }
+
+        mStore.add(value);
+        ++mSize;
+
+        return true;
+    }
+
+    @Override
+    public Object get(final int index) {
+        Objects.checkIndex(index, mSize);
+
+        return mStore.get(index);
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+}
@@ -1,13 +1,16 @@
 package com.lang.lox.interpreter;
 
 import com.lang.lox.error.LoxErrorHandler;
+import com.lang.lox.optimizer.ConstantFolder;
 import com.lang.lox.scanner.LoxScanner;
+import com.lang.lox.scanner.SymbolTable;
 import com.lang.lox.utils.ExitCodes;
 import com.lang.lox.parser.Parser;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -16,7 +19,29 @@ public final class LoxInterpreter {
 
     private final LoxErrorHandler mErrorHandler = new LoxErrorHandler();
 
-    private final CodeInterpreter mCodeInterpreter = new CodeInterpreter();
+    // Kept across prompt lines so names keep resolving to the same strings
+    private final SymbolTable mSymbols = new SymbolTable();
+
+    private final CodeInterpreter mCodeInterpreter;
+
+    private final boolean mFoldConstants;
+
+    public LoxInterpreter() {
+        this(ExecutionEngine.TREE_WALKER);
+    }
+
+    public LoxInterpreter(final ExecutionEngine engine) {
+        this(engine, CodeInterpreter.DEFAULT_MAX_CALL_DEPTH);
+    }
+
+    public LoxInterpreter(final ExecutionEngine engine, final int maxCallDepth) {
+        this(engine, maxCallDepth, true);
+    }
+
+    public LoxInterpreter(final ExecutionEngine engine, final int maxCallDepth, final boolean foldConstants) {
+        mCodeInterpreter = new CodeInterpreter(engine, maxCallDepth);
+        mFoldConstants = foldConstants;
+    }
 
     public void runViaPrompt() {
         try {
@@ -34,14 +59,11 @@ public final class LoxInterpreter {
         }
     }
 
-    private void run(final String code) {
-        final var scanner = new LoxScanner(code, mErrorHandler);
-
-        final var tokens = scanner.scanTokens();
-
-        final var parser = new Parser(tokens, mErrorHandler);
+    private void run(final LoxScanner scanner) {
+        // Tokens are scanned as the parser asks for them rather than all up front
+        final var parser = new Parser(scanner, mErrorHandler);
 
-        final var syntaxTree = parser.parse();
+        var syntaxTree = parser.parse();
 
         if (mErrorHandler.hasError()) {
             System.exit(ExitCodes.EX_DATAERR.code());
@@ -57,15 +79,23 @@ public final class LoxInterpreter {
             System.exit(ExitCodes.EX_DATAERR.code());
         }
 
+        // Folded only once resolved, so code it prunes is still checked for errors
+        if (mFoldConstants) {
+            syntaxTree = new ConstantFolder().fold(syntaxTree);
+        }
+
         mCodeInterpreter.interpret(syntaxTree, mErrorHandler);
     }
 
     private void runFile(final String filePath) throws IOException {
-        final byte[] sourceBytes = Files.readAllBytes(Paths.get(filePath));
-
         mCodeInterpreter.printExpressionStatements(false);
 
-        run(new String(sourceBytes, Charset.defaultCharset()));
+        // The scanner reads the file a chunk at a time rather than it being loaded whole
+        try (final var source = Files.newBufferedReader(Paths.get(filePath), Charset.defaultCharset())) {
+            run(new LoxScanner(source, mErrorHandler, mSymbols));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
 
         if (mErrorHandler.hasError()) {
             System.exit(ExitCodes.EX_DATAERR.code());
@@ -79,7 +109,7 @@ public final class LoxInterpreter {
     }
 
     private String runAndPrompt(final String line, BufferedReader reader) throws IOException {
-        run(line);
+        run(new LoxScanner(line, mErrorHandler, mSymbols));
 
         mErrorHandler.resetErrorStatus();
 
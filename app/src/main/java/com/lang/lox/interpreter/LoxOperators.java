@@ -0,0 +1,313 @@
+package com.lang.lox.interpreter;
+
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.builtins.callables.CallableObject;
+import com.lang.lox.scanner.token.Token;
+
+import java.util.List;
+
+public final class LoxOperators {
+	private LoxOperators() {
+	}
+
+	public static String stringify(final Object value) {
+		if (value == null) {
+			return "nil";
+		}
+
+		if (value instanceof CharSequence) {
+			return ("\"" + value + "\"");
+		} else if (value instanceof Double) {
+			return Double.toString((double) value).replaceAll("\\.0", "");
+		} else if (value instanceof List<?>) {
+			return stringifyList((List<?>) value);
+		}
+
+		return value.toString();
+	}
+
+	private static String stringifyList(final List<?> values) {
+		if (values.isEmpty()) {
+			return "[]";
+		}
+
+		final var buffer = new StringBuilder("[");
+
+		values.stream().limit(values.size() - 1)
+				.forEach(value -> buffer.append(stringify(value)).append(", "));
+
+		final var lastValue = stringify(values.get(values.size() - 1));
+
+		buffer.append(lastValue).append("]");
+
+		return buffer.toString();
+	}
+
+	public static boolean isTruthy(final Object object) {
+		if (object == null)
+			return false;
+
+		if (object instanceof Double) {
+			return isTruthyNumber((double) object);
+		} else if (object instanceof Boolean) {
+			return (boolean) object;
+		} else if (object instanceof CharSequence) {
+			return isTruthyString((CharSequence) object);
+		} else if (object instanceof List) {
+			return isTruthyList((List<?>) object);
+		} else
+			return object instanceof CallableObject;
+	}
+
+	private static boolean isTruthyNumber(final double value) {
+		return value > 0;
+	}
+
+	private static boolean isTruthyString(final CharSequence value) {
+		return value.length() != 0;
+	}
+
+	private static boolean isTruthyList(final List<?> value) {
+		return !value.isEmpty();
+	}
+
+	public static boolean isEqual(final Object left, final Object right) {
+		// Covers nil as well as the scanner's interned string literals
+		if (left == right) {
+			return true;
+		}
+
+		if (left == null) {
+			return false;
+		}
+
+		if (left instanceof Rope || right instanceof Rope) {
+			return left instanceof CharSequence && right instanceof CharSequence
+					&& left.toString().equals(right.toString());
+		}
+
+		// Compared element by element here rather than with List.equals, which a rope is never equal under
+		if (left instanceof List && right instanceof List) {
+			return isEqual((List<?>) left, (List<?>) right);
+		}
+
+		return left.equals(right);
+	}
+
+	private static boolean isEqual(final List<?> left, final List<?> right) {
+		final var size = left.size();
+
+		if (size != right.size()) {
+			return false;
+		}
+
+		for (var i = 0; i < size; ++i) {
+			if (!isEqual(left.get(i), right.get(i))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	// A counted loop's condition, the counter being known to be a number already
+	public static boolean compareCounter(final Token operator, final double counter, final Object limit) {
+		if (!(limit instanceof Double)) {
+			checkNumberOperands(operator, counter, limit);
+		}
+
+		final var bound = (double) limit;
+
+		switch (operator.type) {
+			case LESS:
+				return counter < bound;
+			case LESS_EQUAL:
+				return counter <= bound;
+			case GREATER:
+				return counter > bound;
+			default:
+				return counter >= bound;
+		}
+	}
+
+	public static void checkNumberOperands(final Token operator,
+			final Object left, final Object right) {
+		if (left instanceof Double && right instanceof Double)
+			return;
+
+		throw new LoxRuntimeError(operator, "Operands must be numbers.");
+	}
+
+	public static void checkNumberOperand(final Token operator, final Object operand) {
+		if (operand instanceof Double) {
+			return;
+		}
+
+		throw new LoxRuntimeError(operator, "Operand must be a number.");
+	}
+
+	public static void checkNumberValue(final Token operator, final Object operand) {
+		if (operand instanceof Double) {
+			return;
+		}
+
+		throw new LoxRuntimeError(operator, "Value must be a number.");
+	}
+
+	@SuppressWarnings("unchecked")
+	public static Object insertInto(final Token operator, final Object left, final Object right) {
+
+		if (left instanceof List) {
+			((List<Object>) left).add(right);
+			return left;
+		}
+
+		throw new LoxRuntimeError(operator, "Unsupported operands in insertion expression");
+	}
+
+	public static Object divide(final Token operator, final Object left, final Object right) {
+		checkDivisor(operator, left, right);
+
+		return ((double) left) / ((double) right);
+	}
+
+	public static Object modulo(final Token operator, final Object left, final Object right) {
+		checkDivisor(operator, left, right);
+
+		return ((double) left) % ((double) right);
+	}
+
+	private static void checkDivisor(final Token operator, final Object left, final Object right) {
+		checkNumberOperands(operator, left, right);
+
+		if (((double) right) == 0) {
+			throw new LoxRuntimeError(operator, "Division by zero is not allowed");
+		}
+	}
+
+	public static Object addition(final Token operator, final Object left, final Object right) {
+		if (left instanceof Double && right instanceof Double) {
+			return (double) left + (double) right;
+		}
+
+		if (left instanceof CharSequence && right instanceof Double) {
+			return concatenateStrings((CharSequence) left, String.valueOf((double) right));
+		}
+
+		if (left instanceof CharSequence && right instanceof Boolean) {
+			return concatenateStrings((CharSequence) left, String.valueOf((boolean) right));
+		}
+
+		throw new LoxRuntimeError(operator, "Unsupported operands in addition expression");
+	}
+
+	public static Object concatenate(final Token operator, final Object left, final Object right) {
+		if (left instanceof CharSequence && right instanceof CharSequence) {
+			return concatenateStrings((CharSequence) left, (CharSequence) right);
+		}
+
+		if (left instanceof List && right instanceof List) {
+			return concatenateLists(
+					(List<?>) left, (List<?>) right);
+		}
+
+		throw new LoxRuntimeError(operator, "Unsupported operands in concatenation expression");
+	}
+
+	public static CharSequence concatenateStrings(final CharSequence left, final CharSequence right) {
+		if (left.length() == 0) {
+			return right;
+		} else if (right.length() == 0) {
+			return left;
+		}
+
+		return Rope.concatenate(left, right);
+	}
+
+	public static List<?> concatenateLists(final List<?> left, final List<?> right) {
+		return LoxArray.concatenate(left, right);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static Object multiply(final Token operator, final Object left, final Object right) {
+		if (left instanceof Double && right instanceof Double) {
+			return ((double) left) * ((double) right);
+		}
+
+		if (left instanceof CharSequence && right instanceof Double) {
+			return multiplyString((CharSequence) left, (double) right);
+		}
+
+		if (left instanceof List && right instanceof Double) {
+			return multiplyList((List<Object>) left, (double) right);
+		}
+
+		throw new LoxRuntimeError(operator, "Unsupported operands in multiplication expression");
+	}
+
+	public static Object multiplyString(final CharSequence left, final double times) {
+		if (times == 0) {
+			return "";
+		} else if (times == 1) {
+			return left;
+		}
+
+		final var builder = new StringBuilder();
+
+		final double repeat = Math.round(times);
+
+		final var string = left.toString();
+
+		for (int i = 0; i < repeat; ++i) {
+			builder.append(string);
+		}
+
+		return builder.toString();
+	}
+
+	public static Object multiplyList(final List<Object> list, final double times) {
+		if (times == 0 || list.isEmpty()) {
+			return new LoxArray(0);
+		} else if (times == 1) {
+			return list;
+		}
+
+		return LoxArray.repeat(list, times);
+	}
+
+	public static Object subscript(final Token bracket, final Object callee, final Object index) {
+		if (!(callee instanceof List<?>)) {
+			throw new LoxRuntimeError(bracket, "Object is not subscript-able");
+		}
+
+		final var indexValue = toNumeric(index);
+
+		final var array = (List<?>) callee;
+
+		checkArraySize(array.size(), indexValue, bracket);
+
+		return array.get(indexValue);
+	}
+
+	private static void checkArraySize(final int arraySize, final int indexValue, final Token source) {
+		if (arraySize == 0 || indexValue >= arraySize || indexValue < 0) {
+			throw new LoxRuntimeError(source, "Array index out of bounds");
+		}
+	}
+
+	private static int toNumeric(final Object value) {
+		if (value instanceof Boolean) {
+			return (((boolean) value) ? 1 : 0);
+		} else if (value instanceof CharSequence) {
+			return (isTruthyString((CharSequence) value) ? 1 : 0);
+		} else if (value instanceof List<?>) {
+			return (isTruthyList((List<?>) value) ? 1 : 0);
+		} else if (value instanceof CallableObject) {
+			return 1;
+		} else if (value == null) {
+			return 0;
+		}
+
+		return ((int) Math.floor((double) value));
+	}
+}
@@ -83,7 +83,7 @@ public final class LoxPrelude {
                 } else {
                     arguments.forEach(
                             argument -> System.out
-                                    .print(interpreter.stringify(argument) + " "));
+                                    .print(LoxOperators.stringify(argument) + " "));
                 }
 
                 System.out.println();
@@ -0,0 +1,71 @@
+package com.lang.lox.interpreter;
+
+// A string built up by concatenation. Ropes grown from one another share a buffer, and appending to the rope that
+// ends where the buffer does extends it in place, so building a string piece by piece stays linear. The characters
+// are only copied out into a String when something needs the string as a whole
+public final class Rope implements CharSequence {
+    // Shorter results are cheaper to copy than to share
+    private static final int MIN_LENGTH = 256;
+
+    private final StringBuilder mBuffer;
+    private final int mLength;
+    private String mFlattened = null;
+
+    private Rope(final StringBuilder buffer) {
+        mBuffer = buffer;
+        mLength = buffer.length();
+    }
+
+    public static CharSequence concatenate(final CharSequence left, final CharSequence right) {
+        if (left instanceof Rope) {
+            return ((Rope) left).append(right);
+        }
+
+        final var length = left.length() + right.length();
+
+        if (length < MIN_LENGTH) {
+            return left.toString().concat(right.toString());
+        }
+
+        return new Rope(new StringBuilder(length * 2).append(left).append(right.toString()));
+    }
+
+    private Rope append(final CharSequence piece) {
+        var buffer = mBuffer;
+
+        // Another rope has already grown the shared buffer past this one
+        if (buffer.length() != mLength) {
+            buffer = new StringBuilder((mLength + piece.length()) * 2).append(buffer, 0, mLength);
+        }
+
+        return new Rope(buffer.append(piece.toString()));
+    }
+
+    @Override
+    public int length() {
+        return mLength;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index >= mLength) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        return mBuffer.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        if (mFlattened == null) {
+            mFlattened = mBuffer.substring(0, mLength);
+        }
+
+        return mFlattened;
+    }
+}
@@ -0,0 +1,6 @@
+package com.lang.lox.interpreter.builtins.callables;
+
+// A value Lox code can call. Values only their own engine knows how to call, such as the virtual machine's
+// compiled functions and classes, are these without being a LoxCallable
+public interface CallableObject {
+}
@@ -2,14 +2,48 @@ package com.lang.lox.interpreter.builtins.callables;
 
 import com.lang.lox.interpreter.Interpreter;
 
+import java.util.ArrayList;
 import java.util.List;
 
-public interface LoxCallable {
+public interface LoxCallable extends CallableObject {
     static int MAX_ARGS = 255;
 
     int arity();
 
     Object call(Interpreter interpreter, List<Object> arguments);
 
+    // Fixed-arity entry points, overridden by callables that can take their arguments without a list
+    default Object call(final Interpreter interpreter) {
+        return call(interpreter, new ArrayList<>());
+    }
+
+    default Object call(final Interpreter interpreter, final Object first) {
+        return call(interpreter, arguments(first));
+    }
+
+    default Object call(final Interpreter interpreter, final Object first, final Object second) {
+        return call(interpreter, arguments(first, second));
+    }
+
+    default Object call(final Interpreter interpreter, final Object first, final Object second,
+                        final Object third) {
+        return call(interpreter, arguments(first, second, third));
+    }
+
+    default Object call(final Interpreter interpreter, final Object first, final Object second,
+                        final Object third, final Object fourth) {
+        return call(interpreter, arguments(first, second, third, fourth));
+    }
+
     boolean hasDefaultParameters();
-}
\ No newline at end of file
+
+    static List<Object> arguments(final Object... values) {
+        final var arguments = new ArrayList<>(values.length);
+
+        for (final var value : values) {
+            arguments.add(value);
+        }
+
+        return arguments;
+    }
+}
@@ -3,16 +3,15 @@ package com.lang.lox.interpreter.builtins.callables;
 import java.util.List;
 
 import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.Completion;
 import com.lang.lox.interpreter.Environment;
 import com.lang.lox.interpreter.Interpreter;
-import com.lang.lox.interpreter.builtins.LoxReturn;
 import com.lang.lox.syntax.Stmt;
 import com.lang.lox.utils.NameVisibility;
 
 public class LoxFunction implements LoxCallable {
 	private final Stmt.Function mDeclaration;
 	private final Environment mClosure;
-	private int mDefinedCount = 0;
 	private final boolean mIsInitializer;
 	private final NameVisibility mVisibility;
 
@@ -25,7 +24,7 @@ public class LoxFunction implements LoxCallable {
 	}
 
 	public LoxFunction bind(final Object value) {
-		final var environment = new Environment(mClosure);
+		final var environment = new Environment(mClosure, 1);
 		environment.define(value);
 		return new LoxFunction(mDeclaration, environment, mIsInitializer, mVisibility);
 	}
@@ -37,66 +36,180 @@ public class LoxFunction implements LoxCallable {
 
 	@Override
 	public Object call(Interpreter interpreter, List<Object> arguments) {
-		var environment = new Environment(mClosure);
+		return call(mClosure, interpreter, arguments);
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter) {
+		return call(mClosure, interpreter);
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter, final Object first) {
+		return call(mClosure, interpreter, first);
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter, final Object first, final Object second) {
+		return call(mClosure, interpreter, first, second);
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter, final Object first, final Object second,
+			final Object third) {
+		return call(mClosure, interpreter, first, second, third);
+	}
 
-		defineParameters(environment, arguments, interpreter);
+	@Override
+	public Object call(final Interpreter interpreter, final Object first, final Object second,
+			final Object third, final Object fourth) {
+		return call(mClosure, interpreter, first, second, third, fourth);
+	}
 
-		try {
-			interpreter.executeBlock(mDeclaration.body, environment);
-		} catch (LoxReturn returnValue) {
-			final var value = returnValue.value;
-			return (mIsInitializer && value == null ? mClosure.getAt(0, 0) : value);
+	// Same as bind(receiver).call(...) without keeping the bound copy around
+	public Object invoke(final Object receiver, final Interpreter interpreter, final List<Object> arguments) {
+		return call(receiverScope(receiver), interpreter, arguments);
+	}
+
+	public Object invoke(final Object receiver, final Interpreter interpreter) {
+		return call(receiverScope(receiver), interpreter);
+	}
+
+	public Object invoke(final Object receiver, final Interpreter interpreter, final Object first) {
+		return call(receiverScope(receiver), interpreter, first);
+	}
+
+	public Object invoke(final Object receiver, final Interpreter interpreter, final Object first,
+			final Object second) {
+		return call(receiverScope(receiver), interpreter, first, second);
+	}
+
+	public Object invoke(final Object receiver, final Interpreter interpreter, final Object first,
+			final Object second, final Object third) {
+		return call(receiverScope(receiver), interpreter, first, second, third);
+	}
+
+	public Object invoke(final Object receiver, final Interpreter interpreter, final Object first,
+			final Object second, final Object third, final Object fourth) {
+		return call(receiverScope(receiver), interpreter, first, second, third, fourth);
+	}
+
+	private Environment receiverScope(final Object receiver) {
+		final var environment = new Environment(mClosure, 1);
+		environment.define(receiver);
+		return environment;
+	}
+
+	// Calls that leave parameters to their defaults go through the argument list
+	private Object call(final Environment closure, final Interpreter interpreter) {
+		if (arity() != 0) {
+			return call(closure, interpreter, LoxCallable.arguments());
 		}
 
-		return null;
+		return execute(new Environment(closure, mDeclaration.frameSize), interpreter);
 	}
 
-	private void defineParameters(final Environment environment, final List<Object> arguments,
-			final Interpreter interpreter) {
-		final Runnable defineAllDefaults = () -> {
-			mDeclaration.params.forEach(valuePair -> {
-				var value = interpreter.evaluate(valuePair.second);
+	private Object call(final Environment closure, final Interpreter interpreter, final Object first) {
+		if (arity() != 1) {
+			return call(closure, interpreter, LoxCallable.arguments(first));
+		}
 
-				if (value == null) {
-					throw new LoxRuntimeError(valuePair.first, "Evaluated default value is 'nil'");
-				}
+		final var environment = new Environment(closure, mDeclaration.frameSize);
+		environment.define(first);
+		return execute(environment, interpreter);
+	}
 
-				environment.define(value);
-			});
+	private Object call(final Environment closure, final Interpreter interpreter, final Object first,
+			final Object second) {
+		if (arity() != 2) {
+			return call(closure, interpreter, LoxCallable.arguments(first, second));
+		}
 
-			mDefinedCount = mDeclaration.params.size();
-		};
+		final var environment = new Environment(closure, mDeclaration.frameSize);
+		environment.define(first);
+		environment.define(second);
+		return execute(environment, interpreter);
+	}
 
-		final Runnable defineAllGiven = () -> {
-			arguments.forEach(argument -> {
-				environment.define(argument);
-				++mDefinedCount;
-			});
-		};
+	private Object call(final Environment closure, final Interpreter interpreter, final Object first,
+			final Object second, final Object third) {
+		if (arity() != 3) {
+			return call(closure, interpreter, LoxCallable.arguments(first, second, third));
+		}
 
-		final Runnable defineRemaining = () -> {
-			mDeclaration.params.stream().skip(mDefinedCount).forEach(valuePair -> {
-				var value = interpreter.evaluate(valuePair.second);
+		final var environment = new Environment(closure, mDeclaration.frameSize);
+		environment.define(first);
+		environment.define(second);
+		environment.define(third);
+		return execute(environment, interpreter);
+	}
 
-				if (value == null) {
-					throw new LoxRuntimeError(valuePair.first, "Evaluated default value is 'nil'");
+	private Object call(final Environment closure, final Interpreter interpreter, final Object first,
+			final Object second, final Object third, final Object fourth) {
+		if (arity() != 4) {
+			return call(closure, interpreter, LoxCallable.arguments(first, second, third, fourth));
+		}
+
+		final var environment = new Environment(closure, mDeclaration.frameSize);
+		environment.define(first);
+		environment.define(second);
+		environment.define(third);
+		environment.define(fourth);
+		return execute(environment, interpreter);
+	}
+
+	private Object call(final Environment closure, final Interpreter interpreter, final List<Object> arguments) {
+		final var environment = new Environment(closure, mDeclaration.frameSize);
+
+		final var given = Math.min(arguments.size(), arity());
+
+		for (var i = 0; i < given; ++i) {
+			environment.define(arguments.get(i));
+		}
+
+		if (given < arity()) {
+			defineDefaults(environment, given, closure, interpreter);
+		}
+
+		return execute(environment, interpreter);
+	}
+
+	// Fills in the parameters a call left out, evaluating non-literal defaults in the function's closure
+	private void defineDefaults(final Environment environment, final int given, final Environment closure,
+			final Interpreter interpreter) {
+		final var defaults = mDeclaration.defaults;
+
+		for (var i = given; i < defaults.count(); ++i) {
+			var value = defaults.value(i);
+
+			if (value == null) {
+				final var expression = defaults.expression(i);
+
+				if (expression == null) {
+					throw new LoxRuntimeError(defaults.name(i), "Expected " +
+							defaults.count() + " argument(s) but got " +
+							given + ".");
 				}
 
-				environment.define(value);
-			});
-		};
+				value = interpreter.evaluateIn(closure, expression);
 
-		if (arguments.isEmpty()) {
-			defineAllDefaults.run();
-		} else {
-			defineAllGiven.run();
+				if (value == null) {
+					throw new LoxRuntimeError(defaults.name(i), "Evaluated default value is 'nil'");
+				}
+			}
+
+			environment.define(value);
 		}
+	}
 
-		if (mDefinedCount != mDeclaration.params.size()) {
-			defineRemaining.run();
+	private Object execute(final Environment environment, final Interpreter interpreter) {
+		if (interpreter.executeBlock(mDeclaration.body, environment) == Completion.RETURN) {
+			final var value = interpreter.consumeReturnValue();
+			// The receiver sits in the scope right above the parameters
+			return (mIsInitializer && value == null ? environment.getAt(1, 0) : value);
 		}
 
-		mDefinedCount = 0;
+		return null;
 	}
 
 	@Override
@@ -2,9 +2,9 @@ package com.lang.lox.interpreter.builtins.callables;
 
 import java.util.List;
 
+import com.lang.lox.interpreter.Completion;
 import com.lang.lox.interpreter.Environment;
 import com.lang.lox.interpreter.Interpreter;
-import com.lang.lox.interpreter.builtins.LoxReturn;
 import com.lang.lox.syntax.Expr;
 
 public class LoxLambda implements LoxCallable {
@@ -33,14 +33,58 @@ public class LoxLambda implements LoxCallable {
 
     @Override
     public Object call(Interpreter interpreter, List<Object> arguments) {
-        var environment = new Environment(mClosure);
+        var environment = new Environment(mClosure, mDeclaration.frameSize);
 
         defineParameters(environment, arguments);
 
-        try {
-            interpreter.executeBlock(mDeclaration.body, environment);
-        } catch (LoxReturn returnValue) {
-            return returnValue.value;
+        return execute(environment, interpreter);
+    }
+
+    // Lambdas have no default parameters, so callers have already matched the argument count to the arity
+    @Override
+    public Object call(final Interpreter interpreter) {
+        return execute(new Environment(mClosure, mDeclaration.frameSize), interpreter);
+    }
+
+    @Override
+    public Object call(final Interpreter interpreter, final Object first) {
+        final var environment = new Environment(mClosure, mDeclaration.frameSize);
+        environment.define(first);
+        return execute(environment, interpreter);
+    }
+
+    @Override
+    public Object call(final Interpreter interpreter, final Object first, final Object second) {
+        final var environment = new Environment(mClosure, mDeclaration.frameSize);
+        environment.define(first);
+        environment.define(second);
+        return execute(environment, interpreter);
+    }
+
+    @Override
+    public Object call(final Interpreter interpreter, final Object first, final Object second,
+                       final Object third) {
+        final var environment = new Environment(mClosure, mDeclaration.frameSize);
+        environment.define(first);
+        environment.define(second);
+        environment.define(third);
+        return execute(environment, interpreter);
+    }
+
+    @Override
+    public Object call(final Interpreter interpreter, final Object first, final Object second,
+                       final Object third, final Object fourth) {
+        final var environment = new Environment(mClosure, mDeclaration.frameSize);
+        environment.define(first);
+        environment.define(second);
+        environment.define(third);
+        environment.define(fourth);
+        return execute(environment, interpreter);
+    }
+
+    private Object execute(final Environment environment, final Interpreter interpreter) {
+        if (interpreter.executeBlock(mDeclaration.body, environment) == Completion.RETURN) {
+            return interpreter.consumeReturnValue();
         }
 
         return null;
@@ -5,12 +5,20 @@ import com.lang.lox.scanner.token.Token;
 public final class LookupContext {
     public boolean memberAccessWithinSubClass;
     public boolean memberAccessWithinSuperClass;
+    public final boolean checksAccess;
     public final Token memberName;
 
     public LookupContext(final boolean memberAccessOccursWithinCurrentClass,
                          final boolean memberAccessOccursInSuperClass, final Token name) {
+        this(memberAccessOccursWithinCurrentClass, memberAccessOccursInSuperClass, true, name);
+    }
+
+    public LookupContext(final boolean memberAccessOccursWithinCurrentClass,
+                         final boolean memberAccessOccursInSuperClass, final boolean accessIsChecked,
+                         final Token name) {
         memberAccessWithinSubClass = memberAccessOccursWithinCurrentClass;
         memberAccessWithinSuperClass = memberAccessOccursInSuperClass;
+        checksAccess = accessIsChecked;
         memberName = name;
     }
 }
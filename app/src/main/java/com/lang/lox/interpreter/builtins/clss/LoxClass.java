@@ -1,6 +1,5 @@
 package com.lang.lox.interpreter.builtins.clss;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -18,7 +17,10 @@ public final class LoxClass implements LoxCallable {
 	private final LoxClass mSuperClass;
 	private final Environment mEnvironment;
 	private final List<Stmt.Let> mFields;
-	private final MemberAccessor<LoxFunction> mMethods;
+	private final Shape mShape;
+	private final MethodTable<LoxFunction> mMethods;
+	private final LoxFunction mInitializer;
+	private final int mArity;
 
 	public LoxClass(final LoxMetaClass metaClass, final LoxClass superClass, final Token name,
 			Environment environment,
@@ -29,15 +31,27 @@ public final class LoxClass implements LoxCallable {
 		mName = name;
 		mEnvironment = environment;
 		mFields = fields;
-		mMethods = new MemberAccessor<>(mName.lexeme, methods);
+		mShape = Shape.of(mName.lexeme, fields);
+		mMethods = new MethodTable<>(mName.lexeme);
+
+		if (superClass != null) {
+			mMethods.inherit(superClass.mMethods);
+		}
+
+		methods.forEach((methodName, method) -> mMethods.define(methodName, method.visibility, method.value));
+
+		final var initializer = methods.get("init");
+
+		mInitializer = (initializer != null ? initializer.value : null);
+		mArity = (mInitializer != null ? mInitializer.arity() : 0);
 	}
 
 	public Token getName() {
 		return mName;
 	}
 
-	public Object get(final Token name, final boolean accessOccursWithinClass) {
-		return getMember(new LookupContext(accessOccursWithinClass, false, name));
+	public Object get(final Token name, final boolean accessOccursWithinClass, final boolean checksAccess) {
+		return getMember(new LookupContext(accessOccursWithinClass, false, checksAccess, name));
 	}
 
 	private Object getMember(final LookupContext context) {
@@ -62,8 +76,9 @@ public final class LoxClass implements LoxCallable {
 				"Undefined property \"" + context.memberName.lexeme + "\".");
 	}
 
-	public void set(final Token name, final Object value, final boolean accessOccursWithinClass) {
-		setMemberValue(value, new LookupContext(accessOccursWithinClass, false, name));
+	public void set(final Token name, final Object value, final boolean accessOccursWithinClass,
+			final boolean checksAccess) {
+		setMemberValue(value, new LookupContext(accessOccursWithinClass, false, checksAccess, name));
 	}
 
 	private void setMemberValue(final Object value,
@@ -76,6 +91,10 @@ public final class LoxClass implements LoxCallable {
 		}
 	}
 
+	public Shape getShape() {
+		return mShape;
+	}
+
 	public Environment getEnvironment() {
 		return mEnvironment;
 	}
@@ -86,50 +105,88 @@ public final class LoxClass implements LoxCallable {
 
 	@Override
 	public int arity() {
-		final var initializer = findConstructor();
-
-		return (initializer != null ? initializer.arity() : 0);
+		return mArity;
 	}
 
 	@Override
 	public Object call(Interpreter interpreter, List<Object> arguments) {
-		final var instance = new LoxInstance(this, null, initFields(interpreter, mFields));
+		final var instance = instantiate(interpreter);
+
+		if (mInitializer != null) {
+			mInitializer.invoke(instance, interpreter, arguments);
+		}
 
-		final var constructor = findConstructor();
+		return instance;
+	}
 
-		if (constructor != null) {
-			constructor.bind(instance).call(interpreter, arguments);
+	@Override
+	public Object call(final Interpreter interpreter) {
+		final var instance = instantiate(interpreter);
+
+		if (mInitializer != null) {
+			mInitializer.invoke(instance, interpreter);
 		}
 
 		return instance;
 	}
 
-	LoxFunction findConstructor() {
-		final var constructorName = new Token(mName.type, "init", null, mName.line);
+	@Override
+	public Object call(final Interpreter interpreter, final Object first) {
+		final var instance = instantiate(interpreter);
 
-		final var initializer = mMethods.findValue(new LookupContext(true, false, constructorName));
+		if (mInitializer != null) {
+			mInitializer.invoke(instance, interpreter, first);
+		}
 
-		return (initializer != null ? initializer.value : null);
+		return instance;
 	}
 
-	public LoxFunction findMethod(final LookupContext context) {
-		final var method = mMethods.findValue(context);
+	@Override
+	public Object call(final Interpreter interpreter, final Object first, final Object second) {
+		final var instance = instantiate(interpreter);
 
-		if (method != null) {
-			return method.value;
+		if (mInitializer != null) {
+			mInitializer.invoke(instance, interpreter, first, second);
 		}
 
-		if (mSuperClass != null) {
-			context.memberAccessWithinSuperClass = true;
-			return mSuperClass.findMethod(context);
+		return instance;
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter, final Object first, final Object second,
+			final Object third) {
+		final var instance = instantiate(interpreter);
+
+		if (mInitializer != null) {
+			mInitializer.invoke(instance, interpreter, first, second, third);
+		}
+
+		return instance;
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter, final Object first, final Object second,
+			final Object third, final Object fourth) {
+		final var instance = instantiate(interpreter);
+
+		if (mInitializer != null) {
+			mInitializer.invoke(instance, interpreter, first, second, third, fourth);
 		}
 
-		return null;
+		return instance;
+	}
+
+	private LoxInstance instantiate(final Interpreter interpreter) {
+		return new LoxInstance(this, null, initFields(interpreter, mFields));
+	}
+
+	public LoxFunction findMethod(final LookupContext context) {
+		return mMethods.find(context);
 	}
 
-	private Map<String, Field<Object>> initFields(final Interpreter interpreter,
+	private Object[] initFields(final Interpreter interpreter,
 			final List<Stmt.Let> variableDeclarations) {
-		final var fields = new HashMap<String, Field<Object>>();
+		final var fields = new Object[mShape.size()];
 
 		if (variableDeclarations.isEmpty()) {
 			return fields;
@@ -140,9 +197,7 @@ public final class LoxClass implements LoxCallable {
 			final var value = hasInit ? interpreter.evaluateVarStmtIn(mEnvironment,
 					variableDeclaration) : null;
 
-			fields.put(variableDeclaration.name.lexeme,
-					new Field<>(variableDeclaration.visibility,
-							value));
+			fields[mShape.indexOf(variableDeclaration.name.lexeme)] = value;
 		});
 
 		return fields;
@@ -1,20 +1,19 @@
 package com.lang.lox.interpreter.builtins.clss;
 
-import java.util.Map;
-
 import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.builtins.callables.LoxFunction;
 import com.lang.lox.scanner.token.Token;
+import com.lang.lox.syntax.PropertyCache;
 
 public class LoxInstance {
 	private final LoxClass mClass;
 	private LoxInstance mSuperClassInstance;
-	private final MemberAccessor<Object> mFields;
+	private final Object[] mFields;
 
-	public LoxInstance(final LoxClass loxClass, final LoxInstance superClassInstance,
-			final Map<String, Field<Object>> fields) {
+	public LoxInstance(final LoxClass loxClass, final LoxInstance superClassInstance, final Object[] fields) {
 		mClass = loxClass;
 		mSuperClassInstance = superClassInstance;
-		mFields = new MemberAccessor<>(mClass.getName().lexeme, fields);
+		mFields = fields;
 	}
 
 	public LoxClass getSuperClass() {
@@ -29,12 +28,72 @@ public class LoxInstance {
 		mSuperClassInstance = superClassInstance;
 	}
 
-	public Object get(final Token name, final boolean accessOccursWithinClass) {
-		return getMember(new LookupContext(accessOccursWithinClass, false, name));
+	public Object get(final Token name, final boolean accessOccursWithinClass, final boolean checksAccess,
+			final PropertyCache cache) {
+		final var entry = cache.find(mClass, accessOccursWithinClass);
+
+		if (entry >= 0) {
+			final var index = cache.fieldIndex(entry);
+
+			if (index < 0) {
+				return ((LoxFunction) cache.method(entry)).bind(this);
+			}
+
+			final var value = mFields[index];
+
+			if (value != null) {
+				return value;
+			}
+		}
+
+		final var context = new LookupContext(accessOccursWithinClass, false, checksAccess, name);
+		final var shape = mClass.getShape();
+		final var index = shape.indexOf(name.lexeme);
+
+		if (index >= 0) {
+			final var value = shape.getValue(mFields, context);
+
+			if (value != null) {
+				cache.addField(mClass, accessOccursWithinClass, index);
+				return value;
+			}
+		} else {
+			final var method = mClass.findMethod(context);
+
+			if (method != null) {
+				cache.addMethod(mClass, accessOccursWithinClass, method);
+				return method.bind(this);
+			}
+		}
+
+		return getMember(new LookupContext(accessOccursWithinClass, false, checksAccess, name));
+	}
+
+	// Finds the method a call site invokes directly on this instance so it never has to be bound, null
+	// when the name may resolve to a field or is left to the superclass instance
+	public LoxFunction findMethod(final Token name, final boolean accessOccursWithinClass, final boolean checksAccess,
+			final PropertyCache cache) {
+		final var entry = cache.find(mClass, accessOccursWithinClass);
+
+		if (entry >= 0) {
+			return cache.fieldIndex(entry) < 0 ? (LoxFunction) cache.method(entry) : null;
+		}
+
+		if (mClass.getShape().indexOf(name.lexeme) >= 0) {
+			return null;
+		}
+
+		final var method = mClass.findMethod(new LookupContext(accessOccursWithinClass, false, checksAccess, name));
+
+		if (method != null) {
+			cache.addMethod(mClass, accessOccursWithinClass, method);
+		}
+
+		return method;
 	}
 
 	private Object getMember(final LookupContext context) {
-		final var field = mFields.getValue(context);
+		final var field = mClass.getShape().getValue(mFields, context);
 
 		if (field != null) {
 			return field;
@@ -59,12 +118,28 @@ public class LoxInstance {
 		return mSuperClassInstance != null ? mSuperClassInstance.getMember(new LookupContext(true, true, name)) : null;
 	}
 
-	public void set(final Token name, final Object value, final boolean accessOccursWithinClass) {
-		setMemberValue(value, new LookupContext(accessOccursWithinClass, false, name));
+	public void set(final Token name, final Object value, final boolean accessOccursWithinClass,
+			final boolean checksAccess, final PropertyCache cache) {
+		final var entry = cache.find(mClass, accessOccursWithinClass);
+
+		if (entry >= 0 && cache.fieldIndex(entry) >= 0) {
+			mFields[cache.fieldIndex(entry)] = value;
+			return;
+		}
+
+		final var context = new LookupContext(accessOccursWithinClass, false, checksAccess, name);
+		final var shape = mClass.getShape();
+
+		if (shape.setValue(mFields, value, context)) {
+			cache.addField(mClass, accessOccursWithinClass, shape.indexOf(name.lexeme));
+			return;
+		}
+
+		setMemberValue(value, context);
 	}
 
 	private void setMemberValue(final Object value, final LookupContext context) {
-		final var updatedMemeberValue = mFields.setValue(value, context);
+		final var updatedMemeberValue = mClass.getShape().setValue(mFields, value, context);
 
 		if (!updatedMemeberValue && mSuperClassInstance != null) {
 			context.memberAccessWithinSuperClass = true;
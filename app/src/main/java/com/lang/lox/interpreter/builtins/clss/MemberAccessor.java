@@ -50,22 +50,12 @@ public final class MemberAccessor<T> {
         return true;
     }
 
-    Field<T> findValue(final LookupContext context) {
-        if (mFields.isEmpty()) {
-            return null;
-        }
-
-        final var field = mFields.get(context.memberName.lexeme);
-        if (field != null) {
-            checkAccess(field, context);
-            return field;
-        }
-
-        return null;
-    }
-
     private void checkAccess(final Field<T> field,
                              final LookupContext context) {
+        if (!context.checksAccess) {
+            return;
+        }
+
         final var fieldVisibility = field.visibility;
         final var illegalAccessDetected =
                 (context.memberAccessWithinSuperClass && fieldVisibility == NameVisibility.PROTECTED) ||
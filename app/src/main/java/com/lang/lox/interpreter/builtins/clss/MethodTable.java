@@ -0,0 +1,79 @@
+package com.lang.lox.interpreter.builtins.clss;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.utils.NameVisibility;
+
+// Every method a class responds to, inherited ones included, so finding one never walks the superclass chain
+public final class MethodTable<T> {
+    private static final class Entry<T> {
+        final NameVisibility visibility;
+        final T method;
+        final String className;
+        final boolean isInherited;
+
+        Entry(final NameVisibility visibility, final T method, final String className, final boolean isInherited) {
+            this.visibility = visibility;
+            this.method = method;
+            this.className = className;
+            this.isInherited = isInherited;
+        }
+    }
+
+    private final String mClassName;
+    private final Map<String, Entry<T>> mEntries = new HashMap<>();
+    private boolean mHasSuperClass = false;
+
+    public MethodTable(final String className) {
+        mClassName = className;
+    }
+
+    // Must run before the class's own methods are defined so they override the inherited ones
+    public void inherit(final MethodTable<T> superClassMethods) {
+        superClassMethods.mEntries.forEach((name, entry) -> mEntries.put(name,
+                new Entry<>(entry.visibility, entry.method, entry.className, true)));
+
+        mHasSuperClass = true;
+    }
+
+    public void define(final String name, final NameVisibility visibility, final T method) {
+        mEntries.put(name, new Entry<>(visibility, method, mClassName, false));
+    }
+
+    public T find(final LookupContext context) {
+        final var entry = mEntries.get(context.memberName.lexeme);
+
+        // Anything not declared by this class is looked up as if from within its superclass
+        if (mHasSuperClass && (entry == null || entry.isInherited)) {
+            context.memberAccessWithinSuperClass = true;
+        }
+
+        if (entry == null) {
+            return null;
+        }
+
+        checkAccess(entry, context);
+
+        return entry.method;
+    }
+
+    private static void checkAccess(final Entry<?> entry, final LookupContext context) {
+        if (!context.checksAccess) {
+            return;
+        }
+
+        final var illegalAccessDetected =
+                (context.memberAccessWithinSuperClass && entry.visibility == NameVisibility.PROTECTED) ||
+                        (!context.memberAccessWithinSubClass && entry.visibility == NameVisibility.PRIVATE);
+
+        if (illegalAccessDetected) {
+            throw new LoxRuntimeError(context.memberName,
+                    "\"" + context.memberName.lexeme + "\" is a "
+                            + entry.visibility.toString().toLowerCase()
+                            + " member of "
+                            + entry.className + ".");
+        }
+    }
+}
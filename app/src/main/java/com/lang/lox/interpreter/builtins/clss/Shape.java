@@ -0,0 +1,117 @@
+package com.lang.lox.interpreter.builtins.clss;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.syntax.Stmt;
+import com.lang.lox.utils.NameVisibility;
+
+public final class Shape {
+    private final String mClassName;
+    private final Map<String, Integer> mIndices;
+    private final NameVisibility[] mVisibilities;
+    private final Map<String, Shape> mTransitions = new HashMap<>();
+
+    public Shape(final String className) {
+        this(className, new HashMap<>(), new NameVisibility[0]);
+    }
+
+    private Shape(final String className, final Map<String, Integer> indices,
+                  final NameVisibility[] visibilities) {
+        mClassName = className;
+        mIndices = indices;
+        mVisibilities = visibilities;
+    }
+
+    public static Shape of(final String className, final List<Stmt.Let> fields) {
+        var shape = new Shape(className);
+
+        for (final var field : fields) {
+            shape = shape.withField(field.name.lexeme, field.visibility);
+        }
+
+        return shape;
+    }
+
+    public Shape withField(final String name, final NameVisibility visibility) {
+        final var index = indexOf(name);
+
+        if (index >= 0) {
+            if (mVisibilities[index] == visibility) {
+                return this;
+            }
+
+            final var visibilities = mVisibilities.clone();
+            visibilities[index] = visibility;
+            return new Shape(mClassName, mIndices, visibilities);
+        }
+
+        return mTransitions.computeIfAbsent(name, fieldName -> {
+            final var indices = new HashMap<>(mIndices);
+            indices.put(fieldName, mVisibilities.length);
+
+            final var visibilities = Arrays.copyOf(mVisibilities, mVisibilities.length + 1);
+            visibilities[mVisibilities.length] = visibility;
+
+            return new Shape(mClassName, indices, visibilities);
+        });
+    }
+
+    public int size() {
+        return mVisibilities.length;
+    }
+
+    public int indexOf(final String name) {
+        final var index = mIndices.get(name);
+
+        return index != null ? index : -1;
+    }
+
+    public Object getValue(final Object[] values, final LookupContext context) {
+        final var index = indexOf(context.memberName.lexeme);
+
+        if (index < 0) {
+            return null;
+        }
+
+        checkAccess(index, context);
+
+        return values[index];
+    }
+
+    public boolean setValue(final Object[] values, final Object value, final LookupContext context) {
+        final var index = indexOf(context.memberName.lexeme);
+
+        if (index < 0) {
+            return false;
+        }
+
+        checkAccess(index, context);
+
+        values[index] = value;
+
+        return true;
+    }
+
+    private void checkAccess(final int index, final LookupContext context) {
+        if (!context.checksAccess) {
+            return;
+        }
+
+        final var fieldVisibility = mVisibilities[index];
+        final var illegalAccessDetected =
+                (context.memberAccessWithinSuperClass && fieldVisibility == NameVisibility.PROTECTED) ||
+                        (!context.memberAccessWithinSubClass && fieldVisibility == NameVisibility.PRIVATE);
+
+        if (illegalAccessDetected) {
+            throw new LoxRuntimeError(context.memberName,
+                    "\"" + context.memberName.lexeme + "\" is a "
+                            + fieldVisibility.toString().toLowerCase()
+                            + " member of "
+                            + mClassName + ".");
+        }
+    }
+}
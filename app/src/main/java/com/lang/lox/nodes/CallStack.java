@@ -0,0 +1,73 @@
+package com.lang.lox.nodes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.builtins.callables.LoxCallable;
+import com.lang.lox.scanner.token.Token;
+
+// The Lox calls in progress, innermost last, which bound recursion and describe it when it runs away. Shared by
+// every node the way the pending tail call is, as nodes aren't handed the interpreter running them
+final class CallStack {
+	private static final int MAX_TRACE_LENGTH = 10;
+
+	private static int sMaxDepth = Integer.MAX_VALUE;
+	private static int sDepth = 0;
+	private static LoxCallable[] sCallees = new LoxCallable[64];
+	private static Token[] sCallSites = new Token[64];
+
+	private CallStack() {
+	}
+
+	static void reset(final int maxDepth) {
+		Arrays.fill(sCallees, 0, sDepth, null);
+		Arrays.fill(sCallSites, 0, sDepth, null);
+
+		sMaxDepth = maxDepth;
+		sDepth = 0;
+	}
+
+	static LoxCallable enter(final Token callSite, final LoxCallable callee) {
+		if (sDepth == sMaxDepth) {
+			throw overflow(callSite);
+		}
+
+		if (sDepth == sCallees.length) {
+			sCallees = Arrays.copyOf(sCallees, sDepth * 2);
+			sCallSites = Arrays.copyOf(sCallSites, sDepth * 2);
+		}
+
+		sCallees[sDepth] = callee;
+		sCallSites[sDepth] = callSite;
+		++sDepth;
+
+		return callee;
+	}
+
+	static void exit() {
+		--sDepth;
+	}
+
+	// A call made in tail position takes over the frame of the call it returns from
+	static void replaceInnermost(final LoxCallable callee) {
+		sCallees[sDepth - 1] = callee;
+	}
+
+	static LoxRuntimeError overflow(final Token callSite) {
+		final var error = new LoxRuntimeError(callSite, "Stack overflow.");
+		final var shown = Math.min(sDepth, MAX_TRACE_LENGTH);
+
+		error.trace = new ArrayList<>(shown + 1);
+
+		for (var i = sDepth - 1; i >= sDepth - shown; --i) {
+			error.trace.add("at " + sCallees[i] + " [line " + sCallSites[i].line + "]");
+		}
+
+		if (sDepth > shown) {
+			error.trace.add("... " + (sDepth - shown) + " more");
+		}
+
+		return error;
+	}
+}
@@ -0,0 +1,1125 @@
+package com.lang.lox.nodes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.Environment;
+import com.lang.lox.interpreter.LoxArray;
+import com.lang.lox.interpreter.LoxOperators;
+import com.lang.lox.interpreter.builtins.callables.LoxCallable;
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.syntax.MemberAccess;
+import com.lang.lox.syntax.PropertyCache;
+
+abstract class ExprNode {
+	// Returned in place of a call made in tail position, which the nearest enclosing call node then makes itself
+	private static final Object TAIL_CALL = new Object();
+	private static NodeFunction sTailCallee = null;
+	private static Object sTailCallReceiver = null;
+	private static List<Object> sTailCallArguments = null;
+
+	abstract Object evaluate(final Environment environment);
+
+	static final class Literal extends ExprNode {
+		private final Object mValue;
+
+		Literal(final Object value) {
+			mValue = value;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			return mValue;
+		}
+	}
+
+	static final class LocalRead extends ExprNode {
+		private final int mDepth;
+		private final int mSlot;
+
+		LocalRead(final int depth, final int slot) {
+			mDepth = depth;
+			mSlot = slot;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			return environment.getAt(mDepth, mSlot);
+		}
+	}
+
+	static final class LocalWrite extends ExprNode {
+		private final int mDepth;
+		private final int mSlot;
+		private final ExprNode mValue;
+
+		LocalWrite(final int depth, final int slot, final ExprNode value) {
+			mDepth = depth;
+			mSlot = slot;
+			mValue = value;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var value = mValue.evaluate(environment);
+			environment.assignAt(mDepth, mSlot, value);
+			return value;
+		}
+	}
+
+	static final class GlobalRead extends ExprNode {
+		private final Token mName;
+		private final GlobalVariable mVariable;
+
+		GlobalRead(final Token name, final GlobalVariable variable) {
+			mName = name;
+			mVariable = variable;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			return mVariable.get(mName);
+		}
+	}
+
+	static final class GlobalWrite extends ExprNode {
+		private final Token mName;
+		private final GlobalVariable mVariable;
+		private final ExprNode mValue;
+
+		GlobalWrite(final Token name, final GlobalVariable variable, final ExprNode value) {
+			mName = name;
+			mVariable = variable;
+			mValue = value;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var value = mValue.evaluate(environment);
+			mVariable.assign(mName, value);
+			return value;
+		}
+	}
+
+	static final class LocalUpdate extends ExprNode {
+		private final Token mOperator;
+		private final int mDepth;
+		private final int mSlot;
+		private final double mDelta;
+		private final boolean mIsPrefix;
+
+		LocalUpdate(final Token operator, final int depth, final int slot, final double delta,
+				final boolean isPrefix) {
+			mOperator = operator;
+			mDepth = depth;
+			mSlot = slot;
+			mDelta = delta;
+			mIsPrefix = isPrefix;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var value = environment.getAt(mDepth, mSlot);
+
+			LoxOperators.checkNumberValue(mOperator, value);
+
+			final var updated = (double) value + mDelta;
+
+			environment.assignAt(mDepth, mSlot, updated);
+
+			return mIsPrefix ? updated : value;
+		}
+	}
+
+	static final class GlobalUpdate extends ExprNode {
+		private final Token mOperator;
+		private final Token mName;
+		private final GlobalVariable mVariable;
+		private final double mDelta;
+		private final boolean mIsPrefix;
+
+		GlobalUpdate(final Token operator, final Token name, final GlobalVariable variable, final double delta,
+				final boolean isPrefix) {
+			mOperator = operator;
+			mName = name;
+			mVariable = variable;
+			mDelta = delta;
+			mIsPrefix = isPrefix;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var value = mVariable.get(mName);
+
+			LoxOperators.checkNumberValue(mOperator, value);
+
+			final var updated = (double) value + mDelta;
+
+			mVariable.assign(mName, updated);
+
+			return mIsPrefix ? updated : value;
+		}
+	}
+
+	static final class Conditional extends ExprNode {
+		private final ExprNode mCondition;
+		private final ExprNode mThenBranch;
+		private final ExprNode mElseBranch;
+
+		Conditional(final ExprNode condition, final ExprNode thenBranch, final ExprNode elseBranch) {
+			mCondition = condition;
+			mThenBranch = thenBranch;
+			mElseBranch = elseBranch;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			return LoxOperators.isTruthy(mCondition.evaluate(environment)) ? mThenBranch.evaluate(environment)
+					: mElseBranch.evaluate(environment);
+		}
+	}
+
+	static final class Or extends ExprNode {
+		private final ExprNode mLeft;
+		private final ExprNode mRight;
+
+		Or(final ExprNode left, final ExprNode right) {
+			mLeft = left;
+			mRight = right;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var left = mLeft.evaluate(environment);
+
+			return LoxOperators.isTruthy(left) ? left : mRight.evaluate(environment);
+		}
+	}
+
+	static final class And extends ExprNode {
+		private final ExprNode mLeft;
+		private final ExprNode mRight;
+
+		And(final ExprNode left, final ExprNode right) {
+			mLeft = left;
+			mRight = right;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var left = mLeft.evaluate(environment);
+
+			return !LoxOperators.isTruthy(left) ? left : mRight.evaluate(environment);
+		}
+	}
+
+	static final class Not extends ExprNode {
+		private final ExprNode mRight;
+
+		Not(final ExprNode right) {
+			mRight = right;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			return !LoxOperators.isTruthy(mRight.evaluate(environment));
+		}
+	}
+
+	static final class Negate extends ExprNode {
+		private final Token mOperator;
+		private final ExprNode mRight;
+
+		Negate(final Token operator, final ExprNode right) {
+			mOperator = operator;
+			mRight = right;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var right = mRight.evaluate(environment);
+			LoxOperators.checkNumberOperand(mOperator, right);
+			return -((double) right);
+		}
+	}
+
+	static final class Positive extends ExprNode {
+		private final Token mOperator;
+		private final ExprNode mRight;
+
+		Positive(final Token operator, final ExprNode right) {
+			mOperator = operator;
+			mRight = right;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var right = mRight.evaluate(environment);
+			LoxOperators.checkNumberOperand(mOperator, right);
+			return right;
+		}
+	}
+
+	abstract static class Binary extends ExprNode {
+		final Token operator;
+		private final ExprNode mLeft;
+		private final ExprNode mRight;
+
+		Binary(final Token operator, final ExprNode left, final ExprNode right) {
+			this.operator = operator;
+			mLeft = left;
+			mRight = right;
+		}
+
+		@Override
+		final Object evaluate(final Environment environment) {
+			final var left = mLeft.evaluate(environment);
+			final var right = mRight.evaluate(environment);
+
+			return apply(left, right);
+		}
+
+		abstract Object apply(final Object left, final Object right);
+	}
+
+	static final class Comma extends Binary {
+		Comma(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		Object apply(final Object left, final Object right) {
+			return right;
+		}
+	}
+
+	static final class Equal extends Binary {
+		Equal(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		Object apply(final Object left, final Object right) {
+			return LoxOperators.isEqual(left, right);
+		}
+	}
+
+	static final class NotEqual extends Binary {
+		NotEqual(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		Object apply(final Object left, final Object right) {
+			return !LoxOperators.isEqual(left, right);
+		}
+	}
+
+	// Specializes on the first operand types seen, falling back to the generic operation for good once a guard fails
+	abstract static class Specializing extends Binary {
+		private Specialization mSpecialization = Specialization.UNINITIALIZED;
+
+		Specializing(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		final Object apply(final Object left, final Object right) {
+			switch (mSpecialization) {
+				case DOUBLES:
+					if (left instanceof Double && right instanceof Double) {
+						return applyDoubles((double) left, (double) right);
+					}
+					break;
+				case STRING_DOUBLE:
+					if (left instanceof CharSequence && right instanceof Double) {
+						return applyStringDouble((CharSequence) left, (double) right);
+					}
+					break;
+				case LIST_DOUBLE:
+					if (left instanceof List && right instanceof Double) {
+						return applyListDouble((List<Object>) left, (double) right);
+					}
+					break;
+				case STRINGS:
+					if (left instanceof CharSequence && right instanceof CharSequence) {
+						return applyStrings((CharSequence) left, (CharSequence) right);
+					}
+					break;
+				case GENERIC:
+					return applyGeneric(left, right);
+				default:
+					break;
+			}
+
+			return specialize(left, right);
+		}
+
+		private Object specialize(final Object left, final Object right) {
+			final var observed = mSpecialization == Specialization.UNINITIALIZED
+					? Specialization.of(left, right)
+					: Specialization.GENERIC;
+
+			mSpecialization = supports(observed) ? observed : Specialization.GENERIC;
+
+			return apply(left, right);
+		}
+
+		abstract boolean supports(final Specialization specialization);
+
+		Object applyDoubles(final double left, final double right) {
+			return applyGeneric(left, right);
+		}
+
+		Object applyStringDouble(final CharSequence left, final double right) {
+			return applyGeneric(left, right);
+		}
+
+		Object applyListDouble(final List<Object> left, final double right) {
+			return applyGeneric(left, right);
+		}
+
+		Object applyStrings(final CharSequence left, final CharSequence right) {
+			return applyGeneric(left, right);
+		}
+
+		abstract Object applyGeneric(final Object left, final Object right);
+	}
+
+	static final class Greater extends Specializing {
+		Greater(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		boolean supports(final Specialization specialization) {
+			return specialization == Specialization.DOUBLES;
+		}
+
+		@Override
+		Object applyDoubles(final double left, final double right) {
+			return left > right;
+		}
+
+		@Override
+		Object applyGeneric(final Object left, final Object right) {
+			LoxOperators.checkNumberOperands(operator, left, right);
+			return (double) left > (double) right;
+		}
+	}
+
+	static final class GreaterEqual extends Specializing {
+		GreaterEqual(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		boolean supports(final Specialization specialization) {
+			return specialization == Specialization.DOUBLES;
+		}
+
+		@Override
+		Object applyDoubles(final double left, final double right) {
+			return left >= right;
+		}
+
+		@Override
+		Object applyGeneric(final Object left, final Object right) {
+			LoxOperators.checkNumberOperands(operator, left, right);
+			return (double) left >= (double) right;
+		}
+	}
+
+	static final class Less extends Specializing {
+		Less(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		boolean supports(final Specialization specialization) {
+			return specialization == Specialization.DOUBLES;
+		}
+
+		@Override
+		Object applyDoubles(final double left, final double right) {
+			return left < right;
+		}
+
+		@Override
+		Object applyGeneric(final Object left, final Object right) {
+			LoxOperators.checkNumberOperands(operator, left, right);
+			return (double) left < (double) right;
+		}
+	}
+
+	static final class LessEqual extends Specializing {
+		LessEqual(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		boolean supports(final Specialization specialization) {
+			return specialization == Specialization.DOUBLES;
+		}
+
+		@Override
+		Object applyDoubles(final double left, final double right) {
+			return left <= right;
+		}
+
+		@Override
+		Object applyGeneric(final Object left, final Object right) {
+			LoxOperators.checkNumberOperands(operator, left, right);
+			return (double) left <= (double) right;
+		}
+	}
+
+	static final class Add extends Specializing {
+		Add(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		boolean supports(final Specialization specialization) {
+			return specialization == Specialization.DOUBLES || specialization == Specialization.STRING_DOUBLE;
+		}
+
+		@Override
+		Object applyDoubles(final double left, final double right) {
+			return left + right;
+		}
+
+		@Override
+		Object applyStringDouble(final CharSequence left, final double right) {
+			return LoxOperators.concatenateStrings(left, String.valueOf(right));
+		}
+
+		@Override
+		Object applyGeneric(final Object left, final Object right) {
+			return LoxOperators.addition(operator, left, right);
+		}
+	}
+
+	static final class Concatenate extends Specializing {
+		Concatenate(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		boolean supports(final Specialization specialization) {
+			return specialization == Specialization.STRINGS;
+		}
+
+		@Override
+		Object applyStrings(final CharSequence left, final CharSequence right) {
+			return LoxOperators.concatenateStrings(left, right);
+		}
+
+		@Override
+		Object applyGeneric(final Object left, final Object right) {
+			return LoxOperators.concatenate(operator, left, right);
+		}
+	}
+
+	static final class Insert extends Binary {
+		Insert(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		Object apply(final Object left, final Object right) {
+			return LoxOperators.insertInto(operator, left, right);
+		}
+	}
+
+	static final class Subtract extends Specializing {
+		Subtract(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		boolean supports(final Specialization specialization) {
+			return specialization == Specialization.DOUBLES;
+		}
+
+		@Override
+		Object applyDoubles(final double left, final double right) {
+			return left - right;
+		}
+
+		@Override
+		Object applyGeneric(final Object left, final Object right) {
+			LoxOperators.checkNumberOperands(operator, left, right);
+			return (double) left - (double) right;
+		}
+	}
+
+	static final class Divide extends Specializing {
+		Divide(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		boolean supports(final Specialization specialization) {
+			return specialization == Specialization.DOUBLES;
+		}
+
+		@Override
+		Object applyDoubles(final double left, final double right) {
+			return right != 0 ? left / right : applyGeneric(left, right);
+		}
+
+		@Override
+		Object applyGeneric(final Object left, final Object right) {
+			return LoxOperators.divide(operator, left, right);
+		}
+	}
+
+	static final class Multiply extends Specializing {
+		Multiply(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		boolean supports(final Specialization specialization) {
+			return specialization == Specialization.DOUBLES || specialization == Specialization.STRING_DOUBLE
+					|| specialization == Specialization.LIST_DOUBLE;
+		}
+
+		@Override
+		Object applyDoubles(final double left, final double right) {
+			return left * right;
+		}
+
+		@Override
+		Object applyStringDouble(final CharSequence left, final double right) {
+			return LoxOperators.multiplyString(left, right);
+		}
+
+		@Override
+		Object applyListDouble(final List<Object> left, final double right) {
+			return LoxOperators.multiplyList(left, right);
+		}
+
+		@Override
+		Object applyGeneric(final Object left, final Object right) {
+			return LoxOperators.multiply(operator, left, right);
+		}
+	}
+
+	static final class Modulo extends Specializing {
+		Modulo(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		boolean supports(final Specialization specialization) {
+			return specialization == Specialization.DOUBLES;
+		}
+
+		@Override
+		Object applyDoubles(final double left, final double right) {
+			return right != 0 ? left % right : applyGeneric(left, right);
+		}
+
+		@Override
+		Object applyGeneric(final Object left, final Object right) {
+			return LoxOperators.modulo(operator, left, right);
+		}
+	}
+
+	static final class Exponent extends Specializing {
+		Exponent(final Token operator, final ExprNode left, final ExprNode right) {
+			super(operator, left, right);
+		}
+
+		@Override
+		boolean supports(final Specialization specialization) {
+			return specialization == Specialization.DOUBLES;
+		}
+
+		@Override
+		Object applyDoubles(final double left, final double right) {
+			return Math.pow(left, right);
+		}
+
+		@Override
+		Object applyGeneric(final Object left, final Object right) {
+			LoxOperators.checkNumberOperands(operator, left, right);
+			return Math.pow((double) left, (double) right);
+		}
+	}
+
+	static final class Array extends ExprNode {
+		private final ExprNode[] mValues;
+
+		Array(final ExprNode[] values) {
+			mValues = values;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var result = new LoxArray(mValues.length);
+
+			for (final var value : mValues) {
+				result.add(value.evaluate(environment));
+			}
+
+			return result;
+		}
+	}
+
+	static final class Subscript extends ExprNode {
+		private final Token mBracket;
+		private final ExprNode mCallee;
+		private final ExprNode mIndex;
+
+		Subscript(final Token bracket, final ExprNode callee, final ExprNode index) {
+			mBracket = bracket;
+			mCallee = callee;
+			mIndex = index;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var callee = mCallee.evaluate(environment);
+
+			return LoxOperators.subscript(mBracket, callee, mIndex.evaluate(environment));
+		}
+	}
+
+	static final class Call extends ExprNode {
+		private final Token mParen;
+		private final ExprNode mCallee;
+		private final ExprNode[] mArguments;
+
+		Call(final Token paren, final ExprNode callee, final ExprNode[] arguments) {
+			mParen = paren;
+			mCallee = callee;
+			mArguments = arguments;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			return completeCall(call(mParen, mCallee.evaluate(environment), mArguments, environment));
+		}
+	}
+
+	static final class TailCall extends ExprNode {
+		private final Token mParen;
+		private final ExprNode mCallee;
+		private final ExprNode[] mArguments;
+
+		TailCall(final Token paren, final ExprNode callee, final ExprNode[] arguments) {
+			mParen = paren;
+			mCallee = callee;
+			mArguments = arguments;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			Object receiver = null;
+			Object callee;
+
+			if (mCallee instanceof GetProperty) {
+				final var get = (GetProperty) mCallee;
+				final var object = get.mObject.evaluate(environment);
+				final var method = object instanceof NodeInstance ? get.findMethod((NodeInstance) object) : null;
+
+				if (method != null) {
+					receiver = object;
+					callee = method;
+				} else {
+					callee = get.get(object);
+				}
+			} else {
+				callee = mCallee.evaluate(environment);
+			}
+
+			final var arguments = evaluateArguments(mArguments, environment);
+			final var function = checkCallable(mParen, callee, arguments.size());
+
+			if (!(function instanceof NodeFunction)) {
+				return function.call(null, arguments);
+			}
+
+			sTailCallee = (NodeFunction) function;
+			sTailCallReceiver = receiver;
+			sTailCallArguments = arguments;
+
+			return TAIL_CALL;
+		}
+	}
+
+	static final class MethodCall extends ExprNode {
+		private final Token mParen;
+		private final GetProperty mCallee;
+		private final ExprNode[] mArguments;
+
+		MethodCall(final Token paren, final GetProperty callee, final ExprNode[] arguments) {
+			mParen = paren;
+			mCallee = callee;
+			mArguments = arguments;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var object = mCallee.mObject.evaluate(environment);
+
+			if (object instanceof NodeInstance) {
+				final var method = mCallee.findMethod((NodeInstance) object);
+
+				if (method != null) {
+					return completeCall(invoke(mParen, method, object, mArguments, environment));
+				}
+			}
+
+			return completeCall(call(mParen, mCallee.get(object), mArguments, environment));
+		}
+	}
+
+	static final class SuperCall extends ExprNode {
+		private final Token mParen;
+		private final int mThisDepth;
+		private final ExprNode[] mArguments;
+
+		SuperCall(final Token paren, final int thisDepth, final ExprNode[] arguments) {
+			mParen = paren;
+			mThisDepth = thisDepth;
+			mArguments = arguments;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var instance = thisInstance(mParen, environment, mThisDepth);
+			final var superClassInstance = instance.getSuperClassInstance();
+			final var callee = superClassInstance != null ? superClassInstance : instance.getSuperClass();
+			final var result = completeCall(call(mParen, callee, mArguments, environment));
+
+			if (callee instanceof NodeClass) {
+				instance.setSuperClassInstance((NodeInstance) result);
+				return null;
+			}
+
+			return result;
+		}
+	}
+
+	static final class GetProperty extends ExprNode {
+		private final Token mName;
+		private final ExprNode mObject;
+		private final boolean mIsWithinClass;
+		private final MemberAccess mAccess;
+		private final PropertyCache mCache = new PropertyCache();
+
+		GetProperty(final Token name, final ExprNode object, final boolean isWithinClass,
+				final MemberAccess access) {
+			mName = name;
+			mObject = object;
+			mIsWithinClass = isWithinClass;
+			mAccess = access;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			return get(mObject.evaluate(environment));
+		}
+
+		NodeFunction findMethod(final NodeInstance instance) {
+			return instance.findMethod(mName, mIsWithinClass, mAccess.requiresCheck(mIsWithinClass), mCache);
+		}
+
+		Object get(final Object object) {
+			final var checksAccess = mAccess.requiresCheck(mIsWithinClass);
+
+			if (object instanceof NodeInstance) {
+				return ((NodeInstance) object).get(mName, mIsWithinClass, checksAccess, mCache);
+			} else if (object instanceof NodeClass) {
+				return ((NodeClass) object).get(mName, mIsWithinClass, checksAccess);
+			}
+
+			throw new LoxRuntimeError(mName, "Is not a class or instance of a class");
+		}
+	}
+
+	static final class SetProperty extends ExprNode {
+		private final Token mName;
+		private final ExprNode mObject;
+		private final ExprNode mValue;
+		private final boolean mIsWithinClass;
+		private final MemberAccess mAccess;
+		private final PropertyCache mCache = new PropertyCache();
+
+		SetProperty(final Token name, final ExprNode object, final ExprNode value, final boolean isWithinClass,
+				final MemberAccess access) {
+			mName = name;
+			mObject = object;
+			mValue = value;
+			mIsWithinClass = isWithinClass;
+			mAccess = access;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var object = mObject.evaluate(environment);
+			final var checksAccess = mAccess.requiresCheck(mIsWithinClass);
+
+			if (object instanceof NodeInstance) {
+				final var value = mValue.evaluate(environment);
+				((NodeInstance) object).set(mName, value, mIsWithinClass, checksAccess, mCache);
+				return value;
+			} else if (object instanceof NodeClass) {
+				final var value = mValue.evaluate(environment);
+				((NodeClass) object).set(mName, value, mIsWithinClass, checksAccess);
+				return value;
+			}
+
+			throw new LoxRuntimeError(mName, "Is not a class or an instance of a class");
+		}
+	}
+
+	static final class SuperGet extends ExprNode {
+		private final Token mKeyword;
+		private final Token mMemberName;
+		private final int mThisDepth;
+
+		SuperGet(final Token keyword, final Token memberName, final int thisDepth) {
+			mKeyword = keyword;
+			mMemberName = memberName;
+			mThisDepth = thisDepth;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			return thisInstance(mKeyword, environment, mThisDepth).getInSuperClass(mMemberName);
+		}
+	}
+
+	static final class SuperValue extends ExprNode {
+		private final Token mKeyword;
+		private final int mThisDepth;
+
+		SuperValue(final Token keyword, final int thisDepth) {
+			mKeyword = keyword;
+			mThisDepth = thisDepth;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			final var instance = thisInstance(mKeyword, environment, mThisDepth);
+			final var superClassInstance = instance.getSuperClassInstance();
+
+			return superClassInstance != null ? superClassInstance : instance.getSuperClass();
+		}
+	}
+
+	static final class Function extends ExprNode {
+		private final FunctionNode mFunction;
+
+		Function(final FunctionNode function) {
+			mFunction = function;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			return new NodeFunction(mFunction, environment);
+		}
+	}
+
+	static final class Class extends ExprNode {
+		private final Token mName;
+		private final Token mSuperClassName;
+		private final ExprNode mSuperClass;
+		private final NodeClass.FieldNode[] mFields;
+		private final NodeClass.FieldNode[] mStaticFields;
+		private final FunctionNode[] mMethods;
+		private final FunctionNode[] mStaticMethods;
+
+		Class(final Token name, final Token superClassName, final ExprNode superClass,
+				final NodeClass.FieldNode[] fields, final NodeClass.FieldNode[] staticFields,
+				final FunctionNode[] methods, final FunctionNode[] staticMethods) {
+			mName = name;
+			mSuperClassName = superClassName;
+			mSuperClass = superClass;
+			mFields = fields;
+			mStaticFields = staticFields;
+			mMethods = methods;
+			mStaticMethods = staticMethods;
+		}
+
+		@Override
+		Object evaluate(final Environment environment) {
+			NodeClass superClass = null;
+
+			if (mSuperClass != null) {
+				final var value = mSuperClass.evaluate(environment);
+
+				if (!(value instanceof NodeClass)) {
+					throw new LoxRuntimeError(mSuperClassName, "Superclass must be a class.");
+				}
+
+				superClass = (NodeClass) value;
+			}
+
+			final var classEnvironment = new Environment(environment, 1);
+			final var loxClass = new NodeClass(mName, superClass, classEnvironment, mFields);
+
+			for (final var field : mStaticFields) {
+				final var value = field.initializer != null ? field.initializer.evaluate(classEnvironment) : null;
+				loxClass.defineStaticField(field.name, field.visibility, value);
+			}
+
+			for (final var method : mStaticMethods) {
+				loxClass.defineStaticMethod(method.name, method.visibility, new NodeFunction(method, environment));
+			}
+
+			for (final var method : mMethods) {
+				loxClass.defineMethod(method.name, method.visibility, new NodeFunction(method, environment));
+			}
+
+			return loxClass;
+		}
+	}
+
+	private static Object completeCall(Object result) {
+		while (result == TAIL_CALL) {
+			final var function = sTailCallee;
+			final var receiver = sTailCallReceiver;
+			final var arguments = sTailCallArguments;
+
+			sTailCallee = null;
+			sTailCallReceiver = null;
+			sTailCallArguments = null;
+
+			CallStack.replaceInnermost(function);
+
+			result = receiver != null ? function.invoke(receiver, arguments) : function.call(null, arguments);
+		}
+
+		CallStack.exit();
+
+		return result;
+	}
+
+	// Up to four arguments are handed to the callee directly rather than through a list
+	private static Object call(final Token paren, final Object callee, final ExprNode[] arguments,
+			final Environment environment) {
+		switch (arguments.length) {
+			case 0:
+				return CallStack.enter(paren, checkCallable(paren, callee, 0)).call(null);
+			case 1: {
+				final var first = arguments[0].evaluate(environment);
+				return CallStack.enter(paren, checkCallable(paren, callee, 1)).call(null, first);
+			}
+			case 2: {
+				final var first = arguments[0].evaluate(environment);
+				final var second = arguments[1].evaluate(environment);
+				return CallStack.enter(paren, checkCallable(paren, callee, 2)).call(null, first, second);
+			}
+			case 3: {
+				final var first = arguments[0].evaluate(environment);
+				final var second = arguments[1].evaluate(environment);
+				final var third = arguments[2].evaluate(environment);
+				return CallStack.enter(paren, checkCallable(paren, callee, 3)).call(null, first, second, third);
+			}
+			case 4: {
+				final var first = arguments[0].evaluate(environment);
+				final var second = arguments[1].evaluate(environment);
+				final var third = arguments[2].evaluate(environment);
+				final var fourth = arguments[3].evaluate(environment);
+				return CallStack.enter(paren, checkCallable(paren, callee, 4)).call(null, first, second, third, fourth);
+			}
+			default: {
+				final var values = evaluateArguments(arguments, environment);
+				return CallStack.enter(paren, checkCallable(paren, callee, values.size())).call(null, values);
+			}
+		}
+	}
+
+	private static Object invoke(final Token paren, final NodeFunction method, final Object receiver,
+			final ExprNode[] arguments, final Environment environment) {
+		switch (arguments.length) {
+			case 0:
+				checkCallable(paren, method, 0);
+				CallStack.enter(paren, method);
+				return method.invoke(receiver);
+			case 1: {
+				final var first = arguments[0].evaluate(environment);
+				checkCallable(paren, method, 1);
+				CallStack.enter(paren, method);
+				return method.invoke(receiver, first);
+			}
+			case 2: {
+				final var first = arguments[0].evaluate(environment);
+				final var second = arguments[1].evaluate(environment);
+				checkCallable(paren, method, 2);
+				CallStack.enter(paren, method);
+				return method.invoke(receiver, first, second);
+			}
+			case 3: {
+				final var first = arguments[0].evaluate(environment);
+				final var second = arguments[1].evaluate(environment);
+				final var third = arguments[2].evaluate(environment);
+				checkCallable(paren, method, 3);
+				CallStack.enter(paren, method);
+				return method.invoke(receiver, first, second, third);
+			}
+			case 4: {
+				final var first = arguments[0].evaluate(environment);
+				final var second = arguments[1].evaluate(environment);
+				final var third = arguments[2].evaluate(environment);
+				final var fourth = arguments[3].evaluate(environment);
+				checkCallable(paren, method, 4);
+				CallStack.enter(paren, method);
+				return method.invoke(receiver, first, second, third, fourth);
+			}
+			default: {
+				final var values = evaluateArguments(arguments, environment);
+				checkCallable(paren, method, values.size());
+				CallStack.enter(paren, method);
+				return method.invoke(receiver, values);
+			}
+		}
+	}
+
+	private static ArrayList<Object> evaluateArguments(final ExprNode[] arguments, final Environment environment) {
+		final var values = new ArrayList<Object>(arguments.length);
+
+		for (final var argument : arguments) {
+			values.add(argument.evaluate(environment));
+		}
+
+		return values;
+	}
+
+	private static LoxCallable checkCallable(final Token paren, final Object callee, final int argumentCount) {
+		if (!(callee instanceof LoxCallable)) {
+			throw new LoxRuntimeError(paren, "Object is not callable");
+		}
+
+		final var function = (LoxCallable) callee;
+
+		final var arity = function.arity();
+		if (!function.hasDefaultParameters() && arity != LoxCallable.MAX_ARGS &&
+				argumentCount != arity) {
+			throw new LoxRuntimeError(paren, "Expected " +
+					arity + " argument(s) but got " +
+					argumentCount + ".");
+		}
+
+		return function;
+	}
+
+	private static NodeInstance thisInstance(final Token keyword, final Environment environment,
+			final int thisDepth) {
+		final var object = environment.getAt(thisDepth, 0);
+
+		if (!(object instanceof NodeInstance)) {
+			throw new LoxRuntimeError(keyword, "Is not a class or instance of a class");
+		}
+
+		return (NodeInstance) object;
+	}
+}
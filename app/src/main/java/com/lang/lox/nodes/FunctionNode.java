@@ -0,0 +1,60 @@
+package com.lang.lox.nodes;
+
+import java.util.List;
+
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.Environment;
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.utils.NameVisibility;
+
+final class FunctionNode {
+	final String name;
+	final NameVisibility visibility;
+	final String description;
+	final Token[] params;
+	final ExprNode[] defaults;
+	final boolean hasDefaultParameters;
+	final boolean isInitializer;
+	final StmtNode[] body;
+	final int frameSize;
+
+	FunctionNode(final String name, final NameVisibility visibility, final String description,
+			final Token[] params, final ExprNode[] defaults, final boolean hasDefaultParameters,
+			final boolean isInitializer, final StmtNode[] body, final int frameSize) {
+		this.name = name;
+		this.visibility = visibility;
+		this.description = description;
+		this.params = params;
+		this.defaults = defaults;
+		this.hasDefaultParameters = hasDefaultParameters;
+		this.isInitializer = isInitializer;
+		this.body = body;
+		this.frameSize = frameSize;
+	}
+
+	void defineParameters(final Environment environment, final Environment closure, final List<Object> arguments) {
+		final var given = Math.min(arguments.size(), params.length);
+
+		for (var i = 0; i < given; ++i) {
+			environment.define(arguments.get(i));
+		}
+
+		for (var i = given; i < params.length; ++i) {
+			final var defaultValue = defaults[i];
+
+			if (defaultValue == null) {
+				throw new LoxRuntimeError(params[i], "Expected " +
+						params.length + " argument(s) but got " +
+						arguments.size() + ".");
+			}
+
+			final var value = defaultValue.evaluate(closure);
+
+			if (value == null) {
+				throw new LoxRuntimeError(params[i], "Evaluated default value is 'nil'");
+			}
+
+			environment.define(value);
+		}
+	}
+}
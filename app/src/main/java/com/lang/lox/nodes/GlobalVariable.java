@@ -0,0 +1,35 @@
+package com.lang.lox.nodes;
+
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.scanner.token.Token;
+
+final class GlobalVariable {
+	final String name;
+	private Object mValue = null;
+	private boolean mIsDefined = false;
+
+	GlobalVariable(final String name) {
+		this.name = name;
+	}
+
+	Object get(final Token reference) {
+		if (!mIsDefined) {
+			throw new LoxRuntimeError(reference, "Undefined variable '" + name + "'.");
+		}
+
+		return mValue;
+	}
+
+	void define(final Object value) {
+		mValue = value;
+		mIsDefined = true;
+	}
+
+	void assign(final Token reference, final Object value) {
+		if (!mIsDefined) {
+			throw new LoxRuntimeError(reference, "Undefined variable '" + name + "'.");
+		}
+
+		mValue = value;
+	}
+}
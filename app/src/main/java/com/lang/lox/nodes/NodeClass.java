@@ -0,0 +1,243 @@
+package com.lang.lox.nodes;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.Environment;
+import com.lang.lox.interpreter.Interpreter;
+import com.lang.lox.interpreter.builtins.callables.LoxCallable;
+import com.lang.lox.interpreter.builtins.clss.Field;
+import com.lang.lox.interpreter.builtins.clss.LookupContext;
+import com.lang.lox.interpreter.builtins.clss.MemberAccessor;
+import com.lang.lox.interpreter.builtins.clss.MethodTable;
+import com.lang.lox.interpreter.builtins.clss.Shape;
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.utils.NameVisibility;
+
+final class NodeClass implements LoxCallable {
+	static final class FieldNode {
+		final String name;
+		final NameVisibility visibility;
+		final ExprNode initializer;
+
+		FieldNode(final String name, final NameVisibility visibility, final ExprNode initializer) {
+			this.name = name;
+			this.visibility = visibility;
+			this.initializer = initializer;
+		}
+	}
+
+	private final Token mName;
+	private final NodeClass mSuperClass;
+	private final Environment mEnvironment;
+	private final FieldNode[] mFields;
+	private final Shape mShape;
+	private NodeFunction mInitializer = null;
+
+	private final Map<String, Field<Object>> mStaticFieldTable = new HashMap<>();
+	private final Map<String, Field<NodeFunction>> mStaticMethodTable = new HashMap<>();
+
+	private final MethodTable<NodeFunction> mMethods;
+	private final MemberAccessor<Object> mStaticFields;
+	private final MemberAccessor<NodeFunction> mStaticMethods;
+
+	NodeClass(final Token name, final NodeClass superClass, final Environment environment,
+			final FieldNode[] fields) {
+		mName = name;
+		mSuperClass = superClass;
+		mEnvironment = environment;
+		mFields = fields;
+		mShape = shape(name.lexeme, fields);
+		mMethods = new MethodTable<>(name.lexeme);
+
+		if (superClass != null) {
+			mMethods.inherit(superClass.mMethods);
+		}
+
+		mStaticFields = new MemberAccessor<>(name.lexeme, mStaticFieldTable);
+		mStaticMethods = new MemberAccessor<>(name.lexeme, mStaticMethodTable);
+	}
+
+	private static Shape shape(final String className, final FieldNode[] fields) {
+		var shape = new Shape(className);
+
+		for (final var field : fields) {
+			shape = shape.withField(field.name, field.visibility);
+		}
+
+		return shape;
+	}
+
+	Token getName() {
+		return mName;
+	}
+
+	NodeClass getSuperClass() {
+		return mSuperClass;
+	}
+
+	Shape getShape() {
+		return mShape;
+	}
+
+	Environment getEnvironment() {
+		return mEnvironment;
+	}
+
+	void defineMethod(final String name, final NameVisibility visibility, final NodeFunction method) {
+		mMethods.define(name, visibility, method);
+
+		if (name.equals("init")) {
+			mInitializer = method;
+		}
+	}
+
+	void defineStaticMethod(final String name, final NameVisibility visibility, final NodeFunction method) {
+		mStaticMethodTable.put(name, MemberAccessor.field(visibility, method));
+	}
+
+	void defineStaticField(final String name, final NameVisibility visibility, final Object value) {
+		mStaticFieldTable.put(name, MemberAccessor.field(visibility, value));
+	}
+
+	Object get(final Token name, final boolean accessOccursWithinClass, final boolean checksAccess) {
+		return getMember(new LookupContext(accessOccursWithinClass, false, checksAccess, name));
+	}
+
+	private Object getMember(final LookupContext context) {
+		final var field = mStaticFields.getValue(context);
+
+		if (field != null) {
+			return field;
+		}
+
+		final var method = mStaticMethods.getValue(context);
+
+		if (method != null) {
+			return method.bind(this);
+		}
+
+		if (mSuperClass != null) {
+			context.memberAccessWithinSuperClass = true;
+			return mSuperClass.getMember(context);
+		}
+
+		throw new LoxRuntimeError(context.memberName,
+				"Undefined property \"" + context.memberName.lexeme + "\".");
+	}
+
+	void set(final Token name, final Object value, final boolean accessOccursWithinClass,
+			final boolean checksAccess) {
+		setMemberValue(value, new LookupContext(accessOccursWithinClass, false, checksAccess, name));
+	}
+
+	private void setMemberValue(final Object value, final LookupContext context) {
+		final var updatedValue = mStaticFields.setValue(value, context);
+
+		if (!updatedValue && mSuperClass != null) {
+			context.memberAccessWithinSuperClass = true;
+			mSuperClass.setMemberValue(value, context);
+		}
+	}
+
+	NodeFunction findMethod(final LookupContext context) {
+		return mMethods.find(context);
+	}
+
+	@Override
+	public int arity() {
+		return (mInitializer != null ? mInitializer.arity() : 0);
+	}
+
+	@Override
+	public Object call(Interpreter interpreter, List<Object> arguments) {
+		final var instance = new NodeInstance(this, initFields());
+
+		if (mInitializer != null) {
+			mInitializer.invoke(instance, arguments);
+		}
+
+		return instance;
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter) {
+		final var instance = new NodeInstance(this, initFields());
+
+		if (mInitializer != null) {
+			mInitializer.invoke(instance);
+		}
+
+		return instance;
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter, final Object first) {
+		final var instance = new NodeInstance(this, initFields());
+
+		if (mInitializer != null) {
+			mInitializer.invoke(instance, first);
+		}
+
+		return instance;
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter, final Object first, final Object second) {
+		final var instance = new NodeInstance(this, initFields());
+
+		if (mInitializer != null) {
+			mInitializer.invoke(instance, first, second);
+		}
+
+		return instance;
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter, final Object first, final Object second,
+			final Object third) {
+		final var instance = new NodeInstance(this, initFields());
+
+		if (mInitializer != null) {
+			mInitializer.invoke(instance, first, second, third);
+		}
+
+		return instance;
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter, final Object first, final Object second,
+			final Object third, final Object fourth) {
+		final var instance = new NodeInstance(this, initFields());
+
+		if (mInitializer != null) {
+			mInitializer.invoke(instance, first, second, third, fourth);
+		}
+
+		return instance;
+	}
+
+	private Object[] initFields() {
+		final var fields = new Object[mShape.size()];
+
+		for (final var field : mFields) {
+			final var value = field.initializer != null ? field.initializer.evaluate(mEnvironment) : null;
+
+			fields[mShape.indexOf(field.name)] = value;
+		}
+
+		return fields;
+	}
+
+	@Override
+	public boolean hasDefaultParameters() {
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return "<class " + mName + ">";
+	}
+}
@@ -0,0 +1,415 @@
+package com.lang.lox.nodes;
+
+import java.util.List;
+import java.util.Map;
+
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.scanner.token.TokenType;
+import com.lang.lox.syntax.Expr;
+import com.lang.lox.syntax.Stmt;
+
+final class NodeCompiler implements Expr.Visitor<ExprNode>, Stmt.Visitor<StmtNode> {
+	private final Map<String, GlobalVariable> mGlobals;
+	private final boolean mPrintExpressionStatements;
+
+	// Number of environments enclosing the code being compiled, 0 being the global scope
+	private int mScopeDepth = 0;
+	private int mThisScopeDepth = 0;
+
+	NodeCompiler(final Map<String, GlobalVariable> globals, final boolean printExpressionStatements) {
+		mGlobals = globals;
+		mPrintExpressionStatements = printExpressionStatements;
+	}
+
+	StmtNode[] compile(final List<Stmt> statements) {
+		final var nodes = new StmtNode[statements.size()];
+
+		for (var i = 0; i < nodes.length; ++i) {
+			nodes[i] = compile(statements.get(i));
+		}
+
+		return nodes;
+	}
+
+	private StmtNode compile(final Stmt stmt) {
+		return stmt.accept(this);
+	}
+
+	private ExprNode compile(final Expr expr) {
+		return expr.accept(this);
+	}
+
+	private ExprNode[] compileAll(final List<Expr> exprs) {
+		final var nodes = new ExprNode[exprs.size()];
+
+		for (var i = 0; i < nodes.length; ++i) {
+			nodes[i] = compile(exprs.get(i));
+		}
+
+		return nodes;
+	}
+
+	private StmtNode[] compileInNewScope(final List<Stmt> statements) {
+		++mScopeDepth;
+
+		try {
+			return compile(statements);
+		} finally {
+			--mScopeDepth;
+		}
+	}
+
+	private GlobalVariable global(final String name) {
+		return mGlobals.computeIfAbsent(name, GlobalVariable::new);
+	}
+
+	private StmtNode define(final Token name, final ExprNode value) {
+		return mScopeDepth == 0 ? new StmtNode.DefineGlobal(global(name.lexeme), value)
+				: new StmtNode.DefineLocal(value);
+	}
+
+	private ExprNode read(final Token name, final Expr.LocalReference expr) {
+		return expr.isLocal() ? new ExprNode.LocalRead(expr.depth, expr.slot)
+				: new ExprNode.GlobalRead(name, global(name.lexeme));
+	}
+
+	private FunctionNode function(final Stmt.Function function, final boolean isInitializer) {
+		final var params = function.params;
+		final var paramTokens = new Token[params.size()];
+		final var defaults = new ExprNode[params.size()];
+
+		// Defaults are evaluated in the function's closure
+		for (var i = 0; i < paramTokens.length; ++i) {
+			final var param = params.get(i);
+
+			paramTokens[i] = param.first;
+			defaults[i] = param.second != null ? compile(param.second) : null;
+		}
+
+		++mScopeDepth;
+
+		try {
+			return new FunctionNode(function.name.lexeme, function.visibility, "<fn " + function.name.lexeme + ">",
+					paramTokens, defaults, function.hasDefaultParameters, isInitializer, compile(function.body),
+					function.frameSize);
+		} finally {
+			--mScopeDepth;
+		}
+	}
+
+	private FunctionNode method(final Stmt.Function method, final boolean isInitializer) {
+		final var enclosingThisScopeDepth = mThisScopeDepth;
+
+		mThisScopeDepth = ++mScopeDepth;
+
+		try {
+			return function(method, isInitializer);
+		} finally {
+			--mScopeDepth;
+			mThisScopeDepth = enclosingThisScopeDepth;
+		}
+	}
+
+	private NodeClass.FieldNode[] fields(final List<Stmt.Let> fields) {
+		final var enclosingThisScopeDepth = mThisScopeDepth;
+		final var nodes = new NodeClass.FieldNode[fields.size()];
+
+		mThisScopeDepth = ++mScopeDepth;
+
+		try {
+			for (var i = 0; i < nodes.length; ++i) {
+				final var field = fields.get(i);
+
+				nodes[i] = new NodeClass.FieldNode(field.name.lexeme, field.visibility,
+						field.initializer != null ? compile(field.initializer) : null);
+			}
+
+			return nodes;
+		} finally {
+			--mScopeDepth;
+			mThisScopeDepth = enclosingThisScopeDepth;
+		}
+	}
+
+	@Override
+	public StmtNode visitExpressionStmt(Stmt.Expression stmt) {
+		return new StmtNode.Expression(compile(stmt.expression), mPrintExpressionStatements);
+	}
+
+	@Override
+	public StmtNode visitIfStmt(Stmt.If stmt) {
+		return new StmtNode.If(compile(stmt.condition), compile(stmt.thenBranch),
+				stmt.elseBranch != null ? compile(stmt.elseBranch) : null);
+	}
+
+	@Override
+	public StmtNode visitFunctionStmt(Stmt.Function stmt) {
+		return define(stmt.name, new ExprNode.Function(function(stmt, false)));
+	}
+
+	@Override
+	public StmtNode visitBlockStmt(Stmt.Block stmt) {
+		return new StmtNode.Block(compileInNewScope(stmt.statements), stmt.frameSize);
+	}
+
+	@Override
+	public StmtNode visitClassStmt(Stmt.Class stmt) {
+		final var superClass = stmt.superclass != null ? compile(stmt.superclass) : null;
+		final var staticFields = fields(stmt.classFields);
+		final var instanceFields = fields(stmt.fields);
+
+		final var staticMethods = new FunctionNode[stmt.classMethods.size()];
+		for (var i = 0; i < staticMethods.length; ++i) {
+			staticMethods[i] = method(stmt.classMethods.get(i), false);
+		}
+
+		final var methods = new FunctionNode[stmt.methods.size()];
+		for (var i = 0; i < methods.length; ++i) {
+			final var method = stmt.methods.get(i);
+			methods[i] = method(method, method.name.lexeme.equals("init"));
+		}
+
+		return define(stmt.name, new ExprNode.Class(stmt.name,
+				stmt.superclass != null ? stmt.superclass.name : null, superClass,
+				instanceFields, staticFields, methods, staticMethods));
+	}
+
+	@Override
+	public StmtNode visitBreakStmt(Stmt.Break stmt) {
+		return new StmtNode.Break();
+	}
+
+	@Override
+	public StmtNode visitContinueStmt(Stmt.Continue stmt) {
+		return new StmtNode.Continue();
+	}
+
+	@Override
+	public StmtNode visitReturnStmt(Stmt.Return stmt) {
+		return new StmtNode.Return(stmt.value != null ? compile(stmt.value) : null);
+	}
+
+	@Override
+	public StmtNode visitAssertStmt(Stmt.Assert stmt) {
+		return new StmtNode.Assert(compile(stmt.expression), stmt.message);
+	}
+
+	@Override
+	public StmtNode visitLetStmt(Stmt.Let stmt) {
+		return define(stmt.name, stmt.initializer != null ? compile(stmt.initializer) : null);
+	}
+
+	@Override
+	public StmtNode visitWhileStmt(Stmt.While stmt) {
+		final var condition = compile(stmt.condition);
+		final var limit = stmt.countedLoop != null ? compile(stmt.countedLoop.limit) : null;
+		final var incrementer = stmt.incrementer != null ? stmt.incrementer.orElse(null) : null;
+
+		if (incrementer != null && stmt.body instanceof Stmt.Block) {
+			final var block = (Stmt.Block) stmt.body;
+			final var statements = block.statements;
+			final var lastIndex = statements.size() - 1;
+
+			// The incrementer of a desugared "for" is split off the body so that "continue" still runs it
+			if (lastIndex >= 0 && statements.get(lastIndex) == incrementer) {
+				++mScopeDepth;
+
+				try {
+					final var body = compile(statements.subList(0, lastIndex));
+					final var loop = new StmtNode.While(condition,
+							new StmtNode.ForBody(body, compile(incrementer.expression), block.frameSize));
+
+					return limit != null ? new StmtNode.CountedFor(stmt.countedLoop, limit, body, block.frameSize, loop)
+							: loop;
+				} finally {
+					--mScopeDepth;
+				}
+			}
+		}
+
+		return new StmtNode.While(condition, compile(stmt.body));
+	}
+
+	@Override
+	public ExprNode visitAssignExpr(Expr.Assign expr) {
+		final var value = compile(expr.value);
+
+		return expr.isLocal() ? new ExprNode.LocalWrite(expr.depth, expr.slot, value)
+				: new ExprNode.GlobalWrite(expr.name, global(expr.name.lexeme), value);
+	}
+
+	@Override
+	public ExprNode visitConditionalExpr(Expr.Conditional expr) {
+		return new ExprNode.Conditional(compile(expr.condition), compile(expr.thenBranch),
+				expr.elseBranch != null ? compile(expr.elseBranch) : new ExprNode.Literal(null));
+	}
+
+	@Override
+	public ExprNode visitBinaryExpr(Expr.Binary expr) {
+		final var operator = expr.operator;
+		final var left = compile(expr.left);
+		final var right = compile(expr.right);
+
+		switch (operator.type) {
+			case COMMA:
+				return new ExprNode.Comma(operator, left, right);
+			case BANG_EQUAL:
+				return new ExprNode.NotEqual(operator, left, right);
+			case EQUAL_EQUAL:
+				return new ExprNode.Equal(operator, left, right);
+			case GREATER:
+				return new ExprNode.Greater(operator, left, right);
+			case GREATER_EQUAL:
+				return new ExprNode.GreaterEqual(operator, left, right);
+			case LESS:
+				return new ExprNode.Less(operator, left, right);
+			case LESS_EQUAL:
+				return new ExprNode.LessEqual(operator, left, right);
+			case PLUS:
+				return new ExprNode.Add(operator, left, right);
+			case PLUS_PLUS:
+				return new ExprNode.Concatenate(operator, left, right);
+			case INSERTION:
+				return new ExprNode.Insert(operator, left, right);
+			case MINUS:
+				return new ExprNode.Subtract(operator, left, right);
+			case SLASH:
+				return new ExprNode.Divide(operator, left, right);
+			case STAR:
+				return new ExprNode.Multiply(operator, left, right);
+			case MOD:
+				return new ExprNode.Modulo(operator, left, right);
+			case EXPONENT:
+				return new ExprNode.Exponent(operator, left, right);
+			default:
+				return new ExprNode.Comma(operator, new ExprNode.Comma(operator, left, right),
+						new ExprNode.Literal(null));
+		}
+	}
+
+	@Override
+	public ExprNode visitSubscriptExpr(Expr.Subscript expr) {
+		return new ExprNode.Subscript(expr.bracket, compile(expr.callee), compile(expr.index));
+	}
+
+	@Override
+	public ExprNode visitCallExpr(Expr.Call expr) {
+		final var arguments = compileAll(expr.arguments);
+
+		if (expr.callee instanceof Expr.Super && ((Expr.Super) expr.callee).memberName == null) {
+			return new ExprNode.SuperCall(expr.paren, mScopeDepth - mThisScopeDepth, arguments);
+		}
+
+		if (expr.isTailCall) {
+			return new ExprNode.TailCall(expr.paren, compile(expr.callee), arguments);
+		}
+
+		if (expr.callee instanceof Expr.Get) {
+			return new ExprNode.MethodCall(expr.paren, (ExprNode.GetProperty) compile(expr.callee), arguments);
+		}
+
+		return new ExprNode.Call(expr.paren, compile(expr.callee), arguments);
+	}
+
+	@Override
+	public ExprNode visitGetExpr(Expr.Get expr) {
+		return new ExprNode.GetProperty(expr.name, compile(expr.object), expr.accessOccursWithinClass, expr.access);
+	}
+
+	@Override
+	public ExprNode visitSetExpr(Expr.Set expr) {
+		return new ExprNode.SetProperty(expr.name, compile(expr.object), compile(expr.value),
+				expr.accessOccursWithinClass, expr.access);
+	}
+
+	@Override
+	public ExprNode visitThisExpr(Expr.This expr) {
+		return read(expr.keyword, expr);
+	}
+
+	@Override
+	public ExprNode visitSuperExpr(Expr.Super expr) {
+		final var thisDepth = mScopeDepth - mThisScopeDepth;
+
+		return expr.memberName != null ? new ExprNode.SuperGet(expr.keyword, expr.memberName, thisDepth)
+				: new ExprNode.SuperValue(expr.keyword, thisDepth);
+	}
+
+	@Override
+	public ExprNode visitGroupingExpr(Expr.Grouping expr) {
+		return compile(expr.expression);
+	}
+
+	@Override
+	public ExprNode visitUnaryExpr(Expr.Unary expr) {
+		final var right = compile(expr.right);
+
+		switch (expr.operator.type) {
+			case BANG:
+				return new ExprNode.Not(right);
+			case MINUS:
+				return new ExprNode.Negate(expr.operator, right);
+			case PLUS:
+				return new ExprNode.Positive(expr.operator, right);
+			default:
+				return new ExprNode.Comma(expr.operator, right, new ExprNode.Literal(null));
+		}
+	}
+
+	@Override
+	public ExprNode visitLogicalExpr(Expr.Logical expr) {
+		final var left = compile(expr.left);
+		final var right = compile(expr.right);
+
+		switch (expr.operator.type) {
+			case OR:
+				return new ExprNode.Or(left, right);
+			case AND:
+				return new ExprNode.And(left, right);
+			default:
+				return new ExprNode.Comma(expr.operator, left, right);
+		}
+	}
+
+	@Override
+	public ExprNode visitLiteralExpr(Expr.Literal expr) {
+		return new ExprNode.Literal(expr.value);
+	}
+
+	@Override
+	public ExprNode visitArrayExpr(Expr.Array expr) {
+		return new ExprNode.Array(compileAll(expr.values));
+	}
+
+	@Override
+	public ExprNode visitVariableExpr(Expr.Variable expr) {
+		return read(expr.name, expr);
+	}
+
+	@Override
+	public ExprNode visitLambdaExpr(Expr.Lambda expr) {
+		final var params = expr.params.toArray(new Token[0]);
+		final var description = !expr.assignedToVar ? "<lambda>" : "<lambda " + expr.name.lexeme + ">";
+
+		return new ExprNode.Function(new FunctionNode(description, null, description, params,
+				new ExprNode[params.length], false, false, compileInNewScope(expr.body), expr.frameSize));
+	}
+
+	@Override
+	public ExprNode visitPostfixExpr(Expr.Postfix expr) {
+		return update(expr.operator, expr.left, false);
+	}
+
+	@Override
+	public ExprNode visitPrefixExpr(Expr.Prefix expr) {
+		return update(expr.operator, expr.right, true);
+	}
+
+	private ExprNode update(final Token operator, final Expr.Variable variable, final boolean isPrefix) {
+		final var delta = operator.type == TokenType.PLUS_PLUS ? 1.0 : -1.0;
+
+		return variable.isLocal()
+				? new ExprNode.LocalUpdate(operator, variable.depth, variable.slot, delta, isPrefix)
+				: new ExprNode.GlobalUpdate(operator, variable.name, global(variable.name.lexeme), delta, isPrefix);
+	}
+}
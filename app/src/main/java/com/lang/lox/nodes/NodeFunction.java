@@ -0,0 +1,177 @@
+package com.lang.lox.nodes;
+
+import java.util.List;
+
+import com.lang.lox.interpreter.Completion;
+import com.lang.lox.interpreter.Environment;
+import com.lang.lox.interpreter.Interpreter;
+import com.lang.lox.interpreter.builtins.callables.LoxCallable;
+
+final class NodeFunction implements LoxCallable {
+	private final FunctionNode mFunction;
+	private final Environment mClosure;
+
+	NodeFunction(final FunctionNode function, final Environment closure) {
+		mFunction = function;
+		mClosure = closure;
+	}
+
+	NodeFunction bind(final Object receiver) {
+		final var environment = new Environment(mClosure, 1);
+		environment.define(receiver);
+		return new NodeFunction(mFunction, environment);
+	}
+
+	@Override
+	public int arity() {
+		return mFunction.params.length;
+	}
+
+	@Override
+	public Object call(Interpreter interpreter, List<Object> arguments) {
+		return call(mClosure, arguments);
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter) {
+		return call(mClosure);
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter, final Object first) {
+		return call(mClosure, first);
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter, final Object first, final Object second) {
+		return call(mClosure, first, second);
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter, final Object first, final Object second,
+			final Object third) {
+		return call(mClosure, first, second, third);
+	}
+
+	@Override
+	public Object call(final Interpreter interpreter, final Object first, final Object second,
+			final Object third, final Object fourth) {
+		return call(mClosure, first, second, third, fourth);
+	}
+
+	// Same as bind(receiver).call(...) without keeping the bound copy around
+	Object invoke(final Object receiver, final List<Object> arguments) {
+		return call(receiverScope(receiver), arguments);
+	}
+
+	Object invoke(final Object receiver) {
+		return call(receiverScope(receiver));
+	}
+
+	Object invoke(final Object receiver, final Object first) {
+		return call(receiverScope(receiver), first);
+	}
+
+	Object invoke(final Object receiver, final Object first, final Object second) {
+		return call(receiverScope(receiver), first, second);
+	}
+
+	Object invoke(final Object receiver, final Object first, final Object second, final Object third) {
+		return call(receiverScope(receiver), first, second, third);
+	}
+
+	Object invoke(final Object receiver, final Object first, final Object second, final Object third,
+			final Object fourth) {
+		return call(receiverScope(receiver), first, second, third, fourth);
+	}
+
+	private Environment receiverScope(final Object receiver) {
+		final var environment = new Environment(mClosure, 1);
+		environment.define(receiver);
+		return environment;
+	}
+
+	// Calls that leave parameters to their defaults go through the argument list
+	private Object call(final Environment closure) {
+		if (mFunction.params.length != 0) {
+			return call(closure, LoxCallable.arguments());
+		}
+
+		return execute(new Environment(closure, mFunction.frameSize));
+	}
+
+	private Object call(final Environment closure, final Object first) {
+		if (mFunction.params.length != 1) {
+			return call(closure, LoxCallable.arguments(first));
+		}
+
+		final var environment = new Environment(closure, mFunction.frameSize);
+		environment.define(first);
+		return execute(environment);
+	}
+
+	private Object call(final Environment closure, final Object first, final Object second) {
+		if (mFunction.params.length != 2) {
+			return call(closure, LoxCallable.arguments(first, second));
+		}
+
+		final var environment = new Environment(closure, mFunction.frameSize);
+		environment.define(first);
+		environment.define(second);
+		return execute(environment);
+	}
+
+	private Object call(final Environment closure, final Object first, final Object second, final Object third) {
+		if (mFunction.params.length != 3) {
+			return call(closure, LoxCallable.arguments(first, second, third));
+		}
+
+		final var environment = new Environment(closure, mFunction.frameSize);
+		environment.define(first);
+		environment.define(second);
+		environment.define(third);
+		return execute(environment);
+	}
+
+	private Object call(final Environment closure, final Object first, final Object second, final Object third,
+			final Object fourth) {
+		if (mFunction.params.length != 4) {
+			return call(closure, LoxCallable.arguments(first, second, third, fourth));
+		}
+
+		final var environment = new Environment(closure, mFunction.frameSize);
+		environment.define(first);
+		environment.define(second);
+		environment.define(third);
+		environment.define(fourth);
+		return execute(environment);
+	}
+
+	private Object call(final Environment closure, final List<Object> arguments) {
+		final var environment = new Environment(closure, mFunction.frameSize);
+
+		mFunction.defineParameters(environment, closure, arguments);
+
+		return execute(environment);
+	}
+
+	private Object execute(final Environment environment) {
+		if (StmtNode.executeAll(mFunction.body, environment) == Completion.RETURN) {
+			final var value = StmtNode.consumeReturnValue();
+			// The receiver sits in the scope right above the parameters
+			return (mFunction.isInitializer && value == null ? environment.getAt(1, 0) : value);
+		}
+
+		return null;
+	}
+
+	@Override
+	public boolean hasDefaultParameters() {
+		return mFunction.hasDefaultParameters;
+	}
+
+	@Override
+	public String toString() {
+		return mFunction.description;
+	}
+}
@@ -0,0 +1,154 @@
+package com.lang.lox.nodes;
+
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.builtins.clss.LookupContext;
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.syntax.PropertyCache;
+
+final class NodeInstance {
+	private final NodeClass mClass;
+	private NodeInstance mSuperClassInstance = null;
+	private final Object[] mFields;
+
+	NodeInstance(final NodeClass loxClass, final Object[] fields) {
+		mClass = loxClass;
+		mFields = fields;
+	}
+
+	NodeClass getSuperClass() {
+		return mClass.getSuperClass();
+	}
+
+	NodeInstance getSuperClassInstance() {
+		return mSuperClassInstance;
+	}
+
+	void setSuperClassInstance(final NodeInstance superClassInstance) {
+		mSuperClassInstance = superClassInstance;
+	}
+
+	Object get(final Token name, final boolean accessOccursWithinClass, final boolean checksAccess,
+			final PropertyCache cache) {
+		final var entry = cache.find(mClass, accessOccursWithinClass);
+
+		if (entry >= 0) {
+			final var index = cache.fieldIndex(entry);
+
+			if (index < 0) {
+				return ((NodeFunction) cache.method(entry)).bind(this);
+			}
+
+			final var value = mFields[index];
+
+			if (value != null) {
+				return value;
+			}
+		}
+
+		final var context = new LookupContext(accessOccursWithinClass, false, checksAccess, name);
+		final var shape = mClass.getShape();
+		final var index = shape.indexOf(name.lexeme);
+
+		if (index >= 0) {
+			final var value = shape.getValue(mFields, context);
+
+			if (value != null) {
+				cache.addField(mClass, accessOccursWithinClass, index);
+				return value;
+			}
+		} else {
+			final var method = mClass.findMethod(context);
+
+			if (method != null) {
+				cache.addMethod(mClass, accessOccursWithinClass, method);
+				return method.bind(this);
+			}
+		}
+
+		return getMember(new LookupContext(accessOccursWithinClass, false, checksAccess, name));
+	}
+
+	// Finds the method a call site invokes directly on this instance so it never has to be bound, null
+	// when the name may resolve to a field or is left to the superclass instance
+	NodeFunction findMethod(final Token name, final boolean accessOccursWithinClass, final boolean checksAccess,
+			final PropertyCache cache) {
+		final var entry = cache.find(mClass, accessOccursWithinClass);
+
+		if (entry >= 0) {
+			return cache.fieldIndex(entry) < 0 ? (NodeFunction) cache.method(entry) : null;
+		}
+
+		if (mClass.getShape().indexOf(name.lexeme) >= 0) {
+			return null;
+		}
+
+		final var method = mClass.findMethod(new LookupContext(accessOccursWithinClass, false, checksAccess, name));
+
+		if (method != null) {
+			cache.addMethod(mClass, accessOccursWithinClass, method);
+		}
+
+		return method;
+	}
+
+	private Object getMember(final LookupContext context) {
+		final var field = mClass.getShape().getValue(mFields, context);
+
+		if (field != null) {
+			return field;
+		}
+
+		final var method = mClass.findMethod(context);
+
+		if (method != null) {
+			return method.bind(this);
+		}
+
+		if (mSuperClassInstance != null) {
+			context.memberAccessWithinSuperClass = true;
+			return mSuperClassInstance.getMember(context);
+		}
+
+		throw new LoxRuntimeError(context.memberName,
+				"Undefined property \"" + context.memberName.lexeme + "\".");
+	}
+
+	Object getInSuperClass(final Token name) {
+		return mSuperClassInstance != null ? mSuperClassInstance.getMember(new LookupContext(true, true, name))
+				: null;
+	}
+
+	void set(final Token name, final Object value, final boolean accessOccursWithinClass,
+			final boolean checksAccess, final PropertyCache cache) {
+		final var entry = cache.find(mClass, accessOccursWithinClass);
+
+		if (entry >= 0 && cache.fieldIndex(entry) >= 0) {
+			mFields[cache.fieldIndex(entry)] = value;
+			return;
+		}
+
+		final var context = new LookupContext(accessOccursWithinClass, false, checksAccess, name);
+		final var shape = mClass.getShape();
+
+		if (shape.setValue(mFields, value, context)) {
+			cache.addField(mClass, accessOccursWithinClass, shape.indexOf(name.lexeme));
+			return;
+		}
+
+		setMemberValue(value, context);
+	}
+
+	private void setMemberValue(final Object value, final LookupContext context) {
+		final var updatedMemberValue = mClass.getShape().setValue(mFields, value, context);
+
+		if (!updatedMemberValue && mSuperClassInstance != null) {
+			context.memberAccessWithinSuperClass = true;
+			mSuperClassInstance.setMemberValue(value, context);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "<" + mClass.getName() + " instance>";
+	}
+}
@@ -0,0 +1,53 @@
+package com.lang.lox.nodes;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.lang.lox.error.LoxErrorHandler;
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.LoxPrelude;
+import com.lang.lox.syntax.Stmt;
+
+public final class NodeInterpreter {
+	private boolean mPrintExpressionStatements = false;
+
+	private final Map<String, GlobalVariable> mGlobals = new HashMap<>();
+
+	private final int mMaxCallDepth;
+
+	public NodeInterpreter(final int maxCallDepth) {
+		mMaxCallDepth = maxCallDepth;
+
+		final var prelude = new HashMap<String, Object>();
+
+		LoxPrelude.load(prelude);
+
+		prelude.forEach((name, value) -> mGlobals.computeIfAbsent(name, GlobalVariable::new).define(value));
+	}
+
+	public void printExpressionStatements(final boolean printExpressionStatements) {
+		mPrintExpressionStatements = printExpressionStatements;
+	}
+
+	public void interpret(final List<Stmt> statements, final LoxErrorHandler loxErrorHandler) {
+		final var compiler = new NodeCompiler(mGlobals, mPrintExpressionStatements);
+
+		final var program = compiler.compile(statements);
+
+		CallStack.reset(mMaxCallDepth);
+
+		try {
+			for (final var statement : program) {
+				statement.execute(null);
+			}
+		} catch (LoxRuntimeError error) {
+			loxErrorHandler.runtimeError(error);
+		} catch (StackOverflowError error) {
+			loxErrorHandler.runtimeError(CallStack.overflow(null));
+		} finally {
+			// Calls cut short by an error never leave the call stack themselves
+			CallStack.reset(mMaxCallDepth);
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.lang.lox.nodes;
+
+import java.util.List;
+
+enum Specialization {
+	UNINITIALIZED,
+	DOUBLES,
+	STRING_DOUBLE,
+	LIST_DOUBLE,
+	STRINGS,
+	GENERIC;
+
+	static Specialization of(final Object left, final Object right) {
+		if (right instanceof Double) {
+			if (left instanceof Double) {
+				return DOUBLES;
+			} else if (left instanceof CharSequence) {
+				return STRING_DOUBLE;
+			} else if (left instanceof List) {
+				return LIST_DOUBLE;
+			}
+		} else if (left instanceof CharSequence && right instanceof CharSequence) {
+			return STRINGS;
+		}
+
+		return GENERIC;
+	}
+}
@@ -0,0 +1,269 @@
+package com.lang.lox.nodes;
+
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.Completion;
+import com.lang.lox.interpreter.Environment;
+import com.lang.lox.interpreter.LoxOperators;
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.syntax.CountedLoop;
+
+abstract class StmtNode {
+	// Only one statement runs at a time, so a "return" hands its value to the call through here
+	private static Object sReturnValue = null;
+
+	abstract Completion execute(final Environment environment);
+
+	static Object consumeReturnValue() {
+		final var value = sReturnValue;
+		sReturnValue = null;
+		return value;
+	}
+
+	static Completion executeAll(final StmtNode[] statements, final Environment environment) {
+		for (final var statement : statements) {
+			final var completion = statement.execute(environment);
+
+			if (completion != Completion.NORMAL) {
+				return completion;
+			}
+		}
+
+		return Completion.NORMAL;
+	}
+
+	static final class Expression extends StmtNode {
+		private final ExprNode mExpression;
+		private final boolean mPrintValue;
+
+		Expression(final ExprNode expression, final boolean printValue) {
+			mExpression = expression;
+			mPrintValue = printValue;
+		}
+
+		@Override
+		Completion execute(final Environment environment) {
+			final var value = mExpression.evaluate(environment);
+
+			if (mPrintValue) {
+				System.out.println(LoxOperators.stringify(value));
+			}
+
+			return Completion.NORMAL;
+		}
+	}
+
+	static final class DefineGlobal extends StmtNode {
+		private final GlobalVariable mVariable;
+		private final ExprNode mValue;
+
+		DefineGlobal(final GlobalVariable variable, final ExprNode value) {
+			mVariable = variable;
+			mValue = value;
+		}
+
+		@Override
+		Completion execute(final Environment environment) {
+			mVariable.define(mValue != null ? mValue.evaluate(environment) : null);
+			return Completion.NORMAL;
+		}
+	}
+
+	static final class DefineLocal extends StmtNode {
+		private final ExprNode mValue;
+
+		DefineLocal(final ExprNode value) {
+			mValue = value;
+		}
+
+		@Override
+		Completion execute(final Environment environment) {
+			environment.define(mValue != null ? mValue.evaluate(environment) : null);
+			return Completion.NORMAL;
+		}
+	}
+
+	static final class If extends StmtNode {
+		private final ExprNode mCondition;
+		private final StmtNode mThenBranch;
+		private final StmtNode mElseBranch;
+
+		If(final ExprNode condition, final StmtNode thenBranch, final StmtNode elseBranch) {
+			mCondition = condition;
+			mThenBranch = thenBranch;
+			mElseBranch = elseBranch;
+		}
+
+		@Override
+		Completion execute(final Environment environment) {
+			if (LoxOperators.isTruthy(mCondition.evaluate(environment))) {
+				return mThenBranch.execute(environment);
+			}
+
+			return mElseBranch != null ? mElseBranch.execute(environment) : Completion.NORMAL;
+		}
+	}
+
+	static final class Block extends StmtNode {
+		private final StmtNode[] mStatements;
+		private final int mFrameSize;
+
+		Block(final StmtNode[] statements, final int frameSize) {
+			mStatements = statements;
+			mFrameSize = frameSize;
+		}
+
+		@Override
+		Completion execute(final Environment environment) {
+			return executeAll(mStatements, new Environment(environment, mFrameSize));
+		}
+	}
+
+	static final class While extends StmtNode {
+		private final ExprNode mCondition;
+		private final StmtNode mBody;
+
+		While(final ExprNode condition, final StmtNode body) {
+			mCondition = condition;
+			mBody = body;
+		}
+
+		@Override
+		Completion execute(final Environment environment) {
+			while (LoxOperators.isTruthy(mCondition.evaluate(environment))) {
+				final var completion = mBody.execute(environment);
+
+				if (completion == Completion.BREAK) {
+					break;
+				} else if (completion == Completion.RETURN) {
+					return completion;
+				}
+			}
+
+			return Completion.NORMAL;
+		}
+	}
+
+	static final class ForBody extends StmtNode {
+		private final StmtNode[] mStatements;
+		private final ExprNode mIncrementer;
+		private final int mFrameSize;
+
+		ForBody(final StmtNode[] statements, final ExprNode incrementer, final int frameSize) {
+			mStatements = statements;
+			mIncrementer = incrementer;
+			mFrameSize = frameSize;
+		}
+
+		@Override
+		Completion execute(final Environment environment) {
+			final var bodyEnvironment = new Environment(environment, mFrameSize);
+
+			final var completion = executeAll(mStatements, bodyEnvironment);
+
+			if (completion == Completion.BREAK || completion == Completion.RETURN) {
+				return completion;
+			}
+
+			mIncrementer.evaluate(bodyEnvironment);
+
+			return Completion.NORMAL;
+		}
+	}
+
+	// Keeps the counter of a counted "for" loop as a primitive, only storing it to its slot when something reads it.
+	// A counter that doesn't start out as a number runs through the general loop instead
+	static final class CountedFor extends StmtNode {
+		private final CountedLoop mLoop;
+		private final ExprNode mLimit;
+		private final StmtNode[] mStatements;
+		private final int mFrameSize;
+		private final StmtNode mLoopFallback;
+
+		CountedFor(final CountedLoop loop, final ExprNode limit, final StmtNode[] statements, final int frameSize,
+				final StmtNode loopFallback) {
+			mLoop = loop;
+			mLimit = limit;
+			mStatements = statements;
+			mFrameSize = frameSize;
+			mLoopFallback = loopFallback;
+		}
+
+		@Override
+		Completion execute(final Environment environment) {
+			final var initial = environment.getAt(0, mLoop.slot);
+
+			if (!(initial instanceof Double)) {
+				return mLoopFallback.execute(environment);
+			}
+
+			var counter = (double) initial;
+
+			while (true) {
+				if (mLoop.isCounterRead) {
+					environment.assignAt(0, mLoop.slot, counter);
+				}
+
+				if (!LoxOperators.compareCounter(mLoop.operator, counter, mLimit.evaluate(environment))) {
+					return Completion.NORMAL;
+				}
+
+				final var completion = executeAll(mStatements, new Environment(environment, mFrameSize));
+
+				if (completion == Completion.BREAK) {
+					return Completion.NORMAL;
+				} else if (completion == Completion.RETURN) {
+					return completion;
+				}
+
+				counter += mLoop.step;
+			}
+		}
+	}
+
+	static final class Break extends StmtNode {
+		@Override
+		Completion execute(final Environment environment) {
+			return Completion.BREAK;
+		}
+	}
+
+	static final class Continue extends StmtNode {
+		@Override
+		Completion execute(final Environment environment) {
+			return Completion.CONTINUE;
+		}
+	}
+
+	static final class Return extends StmtNode {
+		private final ExprNode mValue;
+
+		Return(final ExprNode value) {
+			mValue = value;
+		}
+
+		@Override
+		Completion execute(final Environment environment) {
+			sReturnValue = mValue != null ? mValue.evaluate(environment) : null;
+			return Completion.RETURN;
+		}
+	}
+
+	static final class Assert extends StmtNode {
+		private final ExprNode mExpression;
+		private final Token mMessage;
+
+		Assert(final ExprNode expression, final Token message) {
+			mExpression = expression;
+			mMessage = message;
+		}
+
+		@Override
+		Completion execute(final Environment environment) {
+			if (LoxOperators.isTruthy(mExpression.evaluate(environment))) {
+				throw new LoxRuntimeError(mMessage, mMessage.lexeme);
+			}
+
+			return Completion.NORMAL;
+		}
+	}
+}
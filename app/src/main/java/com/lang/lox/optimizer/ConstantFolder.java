@@ -0,0 +1,386 @@
+package com.lang.lox.optimizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.LoxOperators;
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.scanner.token.TokenType;
+import com.lang.lox.syntax.DefaultParameters;
+import com.lang.lox.syntax.Expr;
+import com.lang.lox.syntax.Stmt;
+
+// Rewrites the resolved syntax tree so that expressions built purely from literals are computed once rather than on
+// every execution, and statements guarded by a constant condition lose their dead branch. The nodes that remain keep
+// what the resolver recorded on them. Anything that would raise a runtime error is left as it is so the error still
+// surfaces when it runs
+public final class ConstantFolder implements Expr.Visitor<Expr>, Stmt.Visitor<Stmt> {
+	// Repeated strings past this length stay unfolded rather than being stored in the tree
+	private static final int MAX_FOLDED_STRING_LENGTH = 1024;
+
+	public List<Stmt> fold(final List<Stmt> statements) {
+		final List<Stmt> folded = new ArrayList<>(statements.size());
+
+		for (final var statement : statements) {
+			final var result = fold(statement);
+
+			if (result != null) {
+				folded.add(result);
+			}
+		}
+
+		return folded;
+	}
+
+	// Yields null when the whole statement turns out to be dead
+	private Stmt fold(final Stmt statement) {
+		return statement.accept(this);
+	}
+
+	// Loop bodies and "then" branches can't be left out, so a dead one becomes an empty block
+	private Stmt foldBranch(final Stmt statement) {
+		final var folded = fold(statement);
+
+		return folded != null ? folded : new Stmt.Block(new ArrayList<>());
+	}
+
+	private Expr fold(final Expr expression) {
+		return expression.accept(this);
+	}
+
+	private List<Expr> foldAll(final List<Expr> expressions) {
+		final List<Expr> folded = new ArrayList<>(expressions.size());
+
+		for (final var expression : expressions) {
+			folded.add(fold(expression));
+		}
+
+		return folded;
+	}
+
+	@Override
+	public Stmt visitExpressionStmt(Stmt.Expression stmt) {
+		// Updated in place, a desugared "for" loop's incrementer is matched by identity later on
+		stmt.expression = fold(stmt.expression);
+		return stmt;
+	}
+
+	@Override
+	public Stmt visitIfStmt(Stmt.If stmt) {
+		stmt.condition = fold(stmt.condition);
+
+		if (stmt.condition instanceof Expr.Literal) {
+			final var branch = LoxOperators.isTruthy(((Expr.Literal) stmt.condition).value)
+					? stmt.thenBranch : stmt.elseBranch;
+
+			return branch != null ? fold(branch) : null;
+		}
+
+		stmt.thenBranch = foldBranch(stmt.thenBranch);
+
+		if (stmt.elseBranch != null) {
+			stmt.elseBranch = fold(stmt.elseBranch);
+		}
+
+		return stmt;
+	}
+
+	@Override
+	public Stmt visitFunctionStmt(Stmt.Function stmt) {
+		stmt.params.forEach(param -> {
+			if (param.second != null) {
+				param.second = fold(param.second);
+			}
+		});
+
+		// Rebuilt so defaults that folded to literals are kept as values
+		if (stmt.defaults != null) {
+			stmt.defaults = new DefaultParameters(stmt.params);
+		}
+
+		stmt.body = fold(stmt.body);
+		return stmt;
+	}
+
+	@Override
+	public Stmt visitBlockStmt(Stmt.Block stmt) {
+		stmt.statements = fold(stmt.statements);
+		return stmt;
+	}
+
+	@Override
+	public Stmt visitClassStmt(Stmt.Class stmt) {
+		stmt.classFields.forEach(this::visitLetStmt);
+		stmt.fields.forEach(this::visitLetStmt);
+		stmt.classMethods.forEach(this::visitFunctionStmt);
+		stmt.methods.forEach(this::visitFunctionStmt);
+		return stmt;
+	}
+
+	@Override
+	public Stmt visitBreakStmt(Stmt.Break stmt) {
+		return stmt;
+	}
+
+	@Override
+	public Stmt visitContinueStmt(Stmt.Continue stmt) {
+		return stmt;
+	}
+
+	@Override
+	public Stmt visitReturnStmt(Stmt.Return stmt) {
+		if (stmt.value != null) {
+			stmt.value = fold(stmt.value);
+		}
+
+		return stmt;
+	}
+
+	@Override
+	public Stmt visitAssertStmt(Stmt.Assert stmt) {
+		stmt.expression = fold(stmt.expression);
+		return stmt;
+	}
+
+	@Override
+	public Stmt visitLetStmt(Stmt.Let stmt) {
+		if (stmt.initializer != null) {
+			stmt.initializer = fold(stmt.initializer);
+		}
+
+		return stmt;
+	}
+
+	@Override
+	public Stmt visitWhileStmt(Stmt.While stmt) {
+		stmt.condition = fold(stmt.condition);
+
+		if (stmt.condition instanceof Expr.Literal && !LoxOperators.isTruthy(((Expr.Literal) stmt.condition).value)) {
+			return null;
+		}
+
+		stmt.body = foldBranch(stmt.body);
+		return stmt;
+	}
+
+	@Override
+	public Expr visitAssignExpr(Expr.Assign expr) {
+		expr.value = fold(expr.value);
+		return expr;
+	}
+
+	@Override
+	public Expr visitConditionalExpr(Expr.Conditional expr) {
+		expr.condition = fold(expr.condition);
+		expr.thenBranch = fold(expr.thenBranch);
+
+		if (expr.elseBranch == null) {
+			return expr;
+		}
+
+		expr.elseBranch = fold(expr.elseBranch);
+
+		if (expr.condition instanceof Expr.Literal) {
+			return LoxOperators.isTruthy(((Expr.Literal) expr.condition).value) ? expr.thenBranch : expr.elseBranch;
+		}
+
+		return expr;
+	}
+
+	@Override
+	public Expr visitBinaryExpr(Expr.Binary expr) {
+		expr.left = fold(expr.left);
+		expr.right = fold(expr.right);
+
+		final var left = expr.left;
+		final var right = expr.right;
+
+		if (expr.operator.type == TokenType.COMMA && left instanceof Expr.Literal) {
+			return right;
+		}
+
+		// Each evaluation of an array literal yields a new array, so joined literals stay a literal to evaluate
+		if (expr.operator.type == TokenType.PLUS_PLUS && left instanceof Expr.Array && right instanceof Expr.Array) {
+			final List<Expr> values = new ArrayList<>(((Expr.Array) left).values);
+			values.addAll(((Expr.Array) right).values);
+
+			return new Expr.Array(values);
+		}
+
+		if (!(left instanceof Expr.Literal && right instanceof Expr.Literal)) {
+			return expr;
+		}
+
+		try {
+			final var value = evaluate(expr.operator, ((Expr.Literal) left).value, ((Expr.Literal) right).value);
+
+			// Folded strings are stored flat, whatever form concatenation produced them in
+			return value != null ? new Expr.Literal(value instanceof CharSequence ? value.toString() : value) : expr;
+		} catch (LoxRuntimeError error) {
+			return expr;
+		}
+	}
+
+	// Mirrors the interpreter's binary operators, yielding null for anything that can't be computed ahead of time
+	private static Object evaluate(final Token operator, final Object left, final Object right) {
+		switch (operator.type) {
+			case BANG_EQUAL:
+				return !LoxOperators.isEqual(left, right);
+			case EQUAL_EQUAL:
+				return LoxOperators.isEqual(left, right);
+			case GREATER:
+				LoxOperators.checkNumberOperands(operator, left, right);
+				return ((double) left) > ((double) right);
+			case GREATER_EQUAL:
+				LoxOperators.checkNumberOperands(operator, left, right);
+				return ((double) left) >= ((double) right);
+			case LESS:
+				LoxOperators.checkNumberOperands(operator, left, right);
+				return ((double) left) < ((double) right);
+			case LESS_EQUAL:
+				LoxOperators.checkNumberOperands(operator, left, right);
+				return ((double) left) <= ((double) right);
+			case PLUS:
+				return LoxOperators.addition(operator, left, right);
+			case PLUS_PLUS:
+				return LoxOperators.concatenate(operator, left, right);
+			case MINUS:
+				LoxOperators.checkNumberOperands(operator, left, right);
+				return ((double) left) - ((double) right);
+			case SLASH:
+				return LoxOperators.divide(operator, left, right);
+			case STAR:
+				if (left instanceof String && right instanceof Double
+						&& ((String) left).length() * (double) Math.round((double) right) > MAX_FOLDED_STRING_LENGTH) {
+					return null;
+				}
+
+				return LoxOperators.multiply(operator, left, right);
+			case MOD:
+				return LoxOperators.modulo(operator, left, right);
+			case EXPONENT:
+				LoxOperators.checkNumberOperands(operator, left, right);
+				return Math.pow(((double) left), ((double) right));
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public Expr visitSubscriptExpr(Expr.Subscript expr) {
+		expr.callee = fold(expr.callee);
+		expr.index = fold(expr.index);
+		return expr;
+	}
+
+	@Override
+	public Expr visitCallExpr(Expr.Call expr) {
+		expr.callee = fold(expr.callee);
+		expr.arguments = foldAll(expr.arguments);
+		return expr;
+	}
+
+	@Override
+	public Expr visitGetExpr(Expr.Get expr) {
+		expr.object = fold(expr.object);
+		return expr;
+	}
+
+	@Override
+	public Expr visitSetExpr(Expr.Set expr) {
+		expr.object = fold(expr.object);
+		expr.value = fold(expr.value);
+		return expr;
+	}
+
+	@Override
+	public Expr visitThisExpr(Expr.This expr) {
+		return expr;
+	}
+
+	@Override
+	public Expr visitSuperExpr(Expr.Super expr) {
+		return expr;
+	}
+
+	@Override
+	public Expr visitGroupingExpr(Expr.Grouping expr) {
+		return fold(expr.expression);
+	}
+
+	@Override
+	public Expr visitUnaryExpr(Expr.Unary expr) {
+		expr.right = fold(expr.right);
+
+		if (!(expr.right instanceof Expr.Literal)) {
+			return expr;
+		}
+
+		final var value = ((Expr.Literal) expr.right).value;
+
+		switch (expr.operator.type) {
+			case BANG:
+				return new Expr.Literal(!LoxOperators.isTruthy(value));
+			case MINUS:
+				return value instanceof Double ? new Expr.Literal(-((double) value)) : expr;
+			case PLUS:
+				return value instanceof Double ? expr.right : expr;
+			default:
+				return expr;
+		}
+	}
+
+	@Override
+	public Expr visitLogicalExpr(Expr.Logical expr) {
+		expr.left = fold(expr.left);
+		expr.right = fold(expr.right);
+
+		if (!(expr.left instanceof Expr.Literal)) {
+			return expr;
+		}
+
+		final var isTruthy = LoxOperators.isTruthy(((Expr.Literal) expr.left).value);
+
+		switch (expr.operator.type) {
+			case OR:
+				return isTruthy ? expr.left : expr.right;
+			case AND:
+				return isTruthy ? expr.right : expr.left;
+			default:
+				return expr;
+		}
+	}
+
+	@Override
+	public Expr visitLiteralExpr(Expr.Literal expr) {
+		return expr;
+	}
+
+	@Override
+	public Expr visitArrayExpr(Expr.Array expr) {
+		expr.values = foldAll(expr.values);
+		return expr;
+	}
+
+	@Override
+	public Expr visitVariableExpr(Expr.Variable expr) {
+		return expr;
+	}
+
+	@Override
+	public Expr visitLambdaExpr(Expr.Lambda expr) {
+		expr.body = fold(expr.body);
+		return expr;
+	}
+
+	@Override
+	public Expr visitPostfixExpr(Expr.Postfix expr) {
+		return expr;
+	}
+
+	@Override
+	public Expr visitPrefixExpr(Expr.Prefix expr) {
+		return expr;
+	}
+}
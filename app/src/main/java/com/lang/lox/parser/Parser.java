@@ -5,12 +5,12 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
-import java.util.function.BiFunction;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import com.lang.lox.error.LoxErrorHandler;
+import com.lang.lox.scanner.TokenSource;
 import com.lang.lox.scanner.token.Token;
 import com.lang.lox.scanner.token.TokenType;
 import com.lang.lox.syntax.Expr;
@@ -27,22 +27,51 @@ public final class Parser {
         }
     }
 
-    private interface BinaryExprProducer {
-        Expr operand();
-
-        Token operator();
-
-        Expr create(final Expr leftOperand, final Token operator, final Expr rightOperand);
+    // How tightly each infix operator binds, from the comma up; anything that isn't one is left at zero
+    private static final int PRECEDENCE_COMMA = 1;
+    private static final int PRECEDENCE_ASSIGNMENT = 2;
+    private static final int PRECEDENCE_CONDITIONAL = 3;
+    private static final int PRECEDENCE_OR = 4;
+    private static final int PRECEDENCE_AND = 5;
+    private static final int PRECEDENCE_EQUALITY = 6;
+    private static final int PRECEDENCE_COMPARISON = 7;
+    // Only reached by the missing operand error below, as "++" is taken at the precedence of "+"
+    private static final int PRECEDENCE_CONCATENATION = 8;
+    private static final int PRECEDENCE_INSERTION = 9;
+    private static final int PRECEDENCE_TERM = 10;
+    private static final int PRECEDENCE_FACTOR = 11;
+
+    private static final int[] PRECEDENCES = new int[TokenType.values().length];
+
+    static {
+        PRECEDENCES[COMMA.ordinal()] = PRECEDENCE_COMMA;
+        PRECEDENCES[EQUAL.ordinal()] = PRECEDENCE_ASSIGNMENT;
+        PRECEDENCES[CONDITIONAL.ordinal()] = PRECEDENCE_CONDITIONAL;
+        PRECEDENCES[OR.ordinal()] = PRECEDENCE_OR;
+        PRECEDENCES[AND.ordinal()] = PRECEDENCE_AND;
+        PRECEDENCES[BANG_EQUAL.ordinal()] = PRECEDENCE_EQUALITY;
+        PRECEDENCES[EQUAL_EQUAL.ordinal()] = PRECEDENCE_EQUALITY;
+        PRECEDENCES[GREATER.ordinal()] = PRECEDENCE_COMPARISON;
+        PRECEDENCES[GREATER_EQUAL.ordinal()] = PRECEDENCE_COMPARISON;
+        PRECEDENCES[LESS.ordinal()] = PRECEDENCE_COMPARISON;
+        PRECEDENCES[LESS_EQUAL.ordinal()] = PRECEDENCE_COMPARISON;
+        PRECEDENCES[INSERTION.ordinal()] = PRECEDENCE_INSERTION;
+        PRECEDENCES[PLUS.ordinal()] = PRECEDENCE_TERM;
+        PRECEDENCES[MINUS.ordinal()] = PRECEDENCE_TERM;
+        PRECEDENCES[PLUS_PLUS.ordinal()] = PRECEDENCE_TERM;
+        PRECEDENCES[SLASH.ordinal()] = PRECEDENCE_FACTOR;
+        PRECEDENCES[STAR.ordinal()] = PRECEDENCE_FACTOR;
+        PRECEDENCES[MOD.ordinal()] = PRECEDENCE_FACTOR;
+        PRECEDENCES[EXPONENT.ordinal()] = PRECEDENCE_FACTOR;
     }
 
     // used to issue warning about break statements
     private int mLoopDepth = 0;
 
-    private int mCurrentToken = 0;
     private final LoxErrorHandler mErrorHandler;
-    private final List<Token> mTokens;
+    private final TokenSource mTokens;
 
-    public Parser(final List<Token> tokens, final LoxErrorHandler errorHandler) {
+    public Parser(final TokenSource tokens, final LoxErrorHandler errorHandler) {
         mTokens = tokens;
         mErrorHandler = errorHandler;
     }
@@ -90,11 +119,11 @@ public final class Parser {
         Expr.Variable superclass = null;
 
         if (match(LESS)) {
-            consume(IDENTIFIER, "Expected superclass name");
+            expect(IDENTIFIER, "Expected superclass name");
             superclass = new Expr.Variable(previous());
         }
 
-        consume(LEFT_BRACE, "Expected '{' before class body");
+        expect(LEFT_BRACE, "Expected '{' before class body");
 
         final Function<NameVisibility, Void> parseStaticMembers = visibility -> {
             if (match(LET)) {
@@ -128,7 +157,7 @@ public final class Parser {
                 mErrorHandler.error(modifierToken, "Unknown access modifier");
             }
 
-            consume(COLON, "Missing ':' after access modifier");
+            expect(COLON, "Missing ':' after access modifier");
 
             return visibility;
         };
@@ -147,7 +176,7 @@ public final class Parser {
             }
         }
 
-        consume(RIGHT_BRACE, "Expected '}' after class body");
+        expect(RIGHT_BRACE, "Expected '}' after class body");
 
         return new Stmt.Class(name, superclass, fields, classFields, methods, classMethods);
     }
@@ -155,7 +184,7 @@ public final class Parser {
     private Stmt.Function function(final String kind, final NameVisibility visibility) {
         var name = consume(IDENTIFIER, "Expected " + kind + " name.");
 
-        consume(LEFT_PAREN, "Expected '(' after " + kind + " name.");
+        expect(LEFT_PAREN, "Expected '(' after " + kind + " name.");
 
         var parameters = new ArrayList<Pair<Token, Expr>>();
 
@@ -173,9 +202,9 @@ public final class Parser {
             parseFunctionParameters.run();
         }
 
-        consume(RIGHT_PAREN, "Expected closing ')' after parameters.");
+        expect(RIGHT_PAREN, "Expected closing ')' after parameters.");
 
-        consume(LEFT_BRACE, "Expected '{' before " + kind + " body.");
+        expect(LEFT_BRACE, "Expected '{' before " + kind + " body.");
 
         fun.name = name;
         fun.params = parameters;
@@ -297,7 +326,7 @@ public final class Parser {
         }
 
         if (!isParsingLambda) {
-            consume(SEMICOLON, "Expected ';' after return value");
+            expect(SEMICOLON, "Expected ';' after return value");
         }
 
         return new Stmt.Return(keyword, value);
@@ -308,7 +337,7 @@ public final class Parser {
             mErrorHandler.error(previous(), "\"break\" can only be used within a loop");
         }
 
-        consume(SEMICOLON, "Expected ';' after \"break\".");
+        expect(SEMICOLON, "Expected ';' after \"break\".");
         return new Stmt.Break();
     }
 
@@ -317,12 +346,12 @@ public final class Parser {
             mErrorHandler.error(previous(), "\"continue\" can only be used within a loop");
         }
 
-        consume(SEMICOLON, "Expected ';' after \"continue\".");
+        expect(SEMICOLON, "Expected ';' after \"continue\".");
         return new Stmt.Continue();
     }
 
     private Stmt forStatement(boolean isParsingLambda) {
-        consume(LEFT_PAREN, "Expected opening '(' after \"for\".");
+        expect(LEFT_PAREN, "Expected opening '(' after \"for\".");
 
         Stmt initializer;
         if (match(SEMICOLON)) {
@@ -335,11 +364,11 @@ public final class Parser {
 
         final Supplier<Stmt> buildForLoop = () -> {
             var condition = !check(SEMICOLON) ? (isParsingLambda ? assignment() : expression()) : null;
-            consume(SEMICOLON, "Expected ';' after loop condition.");
+            expect(SEMICOLON, "Expected ';' after loop condition.");
 
             final var increment = !check(RIGHT_PAREN) ? (isParsingLambda ? assignment() : expression())
                     : null;
-            consume(RIGHT_PAREN, "Expected closing ')' after for clauses.");
+            expect(RIGHT_PAREN, "Expected closing ')' after for clauses.");
 
             ++mLoopDepth;
 
@@ -378,9 +407,9 @@ public final class Parser {
     }
 
     private Stmt whileStatement(final boolean isParsingLambda) {
-        consume(LEFT_PAREN, "Expected '(' after \"while\"");
+        expect(LEFT_PAREN, "Expected '(' after \"while\"");
         final var condition = isParsingLambda ? assignment() : expression();
-        consume(RIGHT_PAREN, "Expected ')' after condition");
+        expect(RIGHT_PAREN, "Expected ')' after condition");
 
         try {
             ++mLoopDepth;
@@ -394,9 +423,9 @@ public final class Parser {
     }
 
     private Stmt ifStatement(final boolean isParsingLambda) {
-        consume(LEFT_PAREN, "Expected '(' after \"if\"");
+        expect(LEFT_PAREN, "Expected '(' after \"if\"");
         final var condition = isParsingLambda ? assignment() : expression();
-        consume(RIGHT_PAREN, "Expected ')' after \"if\" condition");
+        expect(RIGHT_PAREN, "Expected ')' after \"if\" condition");
 
         final var thenBranch = statement(isParsingLambda);
 
@@ -411,7 +440,7 @@ public final class Parser {
             statements.add(declarations());
         }
 
-        consume(RIGHT_BRACE, "Expected '}' after block");
+        expect(RIGHT_BRACE, "Expected '}' after block");
         return statements;
     }
 
@@ -419,7 +448,7 @@ public final class Parser {
         final var expr = isParsingLambda ? assignment() : expression();
 
         if (!isParsingLambda) {
-            consume(SEMICOLON, "';' expected after expression");
+            expect(SEMICOLON, "';' expected after expression");
         }
 
         return new Stmt.Expression(expr);
@@ -440,9 +469,9 @@ public final class Parser {
                     null,
                     message.line);
 
-            consume(RIGHT_PAREN, "Expected closing ')'");
+            expect(RIGHT_PAREN, "Expected closing ')'");
 
-            consume(SEMICOLON, "Expected ';' after \"assert\" statement");
+            expect(SEMICOLON, "Expected ';' after \"assert\" statement");
 
             return new Stmt.Assert(expr, assertionMessage);
         };
@@ -452,7 +481,7 @@ public final class Parser {
         }
 
         if (!isParsingLambda) {
-            consume(SEMICOLON, "Expected ';' after \"assert\" statement");
+            expect(SEMICOLON, "Expected ';' after \"assert\" statement");
         }
 
         final var defaultErrorMessage = new Token(ASSERT, "Assertion failed: " + exprToken.lexeme, null,
@@ -462,235 +491,72 @@ public final class Parser {
     }
 
     private Expr expression() {
-        return comma();
-    }
-
-    private Expr comma() {
-        final var commaExpr = new Parser.BinaryExprProducer() {
-            @Override
-            public Expr operand() {
-                return assignment();
-            }
-
-            @Override
-            public Token operator() {
-                return previous();
-            }
-
-            @Override
-            public Expr create(Expr leftOperand, Token operator, Expr rightOperand) {
-                return new Expr.Binary(leftOperand, operator, rightOperand);
-            }
-        };
-
-        return buildBinaryExpr(new TokenType[] { COMMA }, commaExpr);
+        return expression(PRECEDENCE_COMMA);
     }
 
     private Expr assignment() {
-        final var expr = conditional();
-
-        final BiFunction<Token, Expr, Expr.Assign> buildLetAssignmentExpr = (equalsToken, value) -> {
-            final var variable = (Expr.Variable) expr;
-
-            return new Expr.Assign(variable.name, value);
-        };
-
-        final BiFunction<Token, Expr, Expr> buildSetExpr = (equalsToken, value) -> {
-            final var get = (Expr.Get) expr;
-
-            return new Expr.Set(get.object, get.name, value);
-        };
-
-        final Supplier<Expr> initAssignment = () -> {
-            final var equals = previous();
-
-            final var value = assignment();
-
-            if (expr instanceof Expr.Variable) {
-                return buildLetAssignmentExpr.apply(equals, value);
-            } else if (expr instanceof Expr.Get) {
-                return buildSetExpr.apply(equals, value);
-            }
-
-            mErrorHandler.error(equals, "Invalid assignment target.");
-
-            return null;
-        };
-
-        if (match(EQUAL)) {
-            return initAssignment.get();
-        }
-
-        return expr;
-    }
-
-    private Expr conditional() {
-        final var condition = or();
-
-        if (match(CONDITIONAL)) {
-            final var thenBranch = expression();
-
-            consume(COLON, "Expected ':' after \"then\" branch of conditional expression");
-
-            final var elseBranch = conditional();
-
-            return new Expr.Conditional(condition, thenBranch, elseBranch);
-        }
-
-        return condition;
-    }
-
-    private Expr or() {
-        var expr = and();
-
-        while (match(OR)) {
-            final var operator = previous();
-            final var right = and();
-            expr = new Expr.Logical(expr, operator, right);
-        }
-
-        return expr;
-    }
-
-    private Expr and() {
-        var expr = equality();
-
-        while (match(AND)) {
-            final var operator = previous();
-            final var right = equality();
-            expr = new Expr.Logical(expr, operator, right);
-        }
-
-        return expr;
+        return expression(PRECEDENCE_ASSIGNMENT);
     }
 
-    private Expr equality() {
-        final var equalityExpr = new Parser.BinaryExprProducer() {
-            @Override
-            public Expr operand() {
-                return comparison();
-            }
+    // Parses an operand, then folds into it every following operator that binds at least as tightly as
+    // "precedence", so a chain of operators is a loop here rather than a call per precedence level
+    private Expr expression(final int precedence) {
+        var expr = unary();
 
-            @Override
-            public Token operator() {
-                return previous();
-            }
-
-            @Override
-            public Expr create(Expr leftOperand, Token operator, Expr rightOperand) {
-                return new Expr.Binary(leftOperand, operator, rightOperand);
-            }
-
-        };
-
-        return buildBinaryExpr(new TokenType[] { BANG_EQUAL, EQUAL_EQUAL }, equalityExpr);
-    }
-
-    private Expr comparison() {
-        final var comparisonExpr = new BinaryExprProducer() {
-            @Override
-            public Expr operand() {
-                return concatenation();
-            }
-
-            @Override
-            public Token operator() {
-                return previous();
-            }
+        while (true) {
+            final var operatorPrecedence = PRECEDENCES[peekType().ordinal()];
 
-            @Override
-            public Expr create(Expr leftOperand, Token operator, Expr rightOperand) {
-                return new Expr.Binary(leftOperand, operator, rightOperand);
+            if (operatorPrecedence < precedence) {
+                return expr;
             }
 
-        };
-
-        return buildBinaryExpr(new TokenType[] { GREATER, LESS, GREATER_EQUAL, LESS_EQUAL }, comparisonExpr);
-    }
-
-    private Expr concatenation() {
-        final var termExpr = new Parser.BinaryExprProducer() {
-            @Override
-            public Expr operand() {
-                return insertion();
-            }
+            advanceInputPointer();
 
-            @Override
-            public Token operator() {
-                return previous();
-            }
+            final var operator = previous();
 
-            @Override
-            public Expr create(Expr leftOperand, Token operator, Expr rightOperand) {
-                return new Expr.Binary(leftOperand, operator, rightOperand);
+            switch (operatorPrecedence) {
+                case PRECEDENCE_ASSIGNMENT:
+                    expr = assignment(expr, operator);
+                    break;
+                case PRECEDENCE_CONDITIONAL:
+                    expr = conditional(expr);
+                    break;
+                case PRECEDENCE_OR:
+                case PRECEDENCE_AND:
+                    expr = new Expr.Logical(expr, operator, expression(operatorPrecedence + 1));
+                    break;
+                default:
+                    expr = new Expr.Binary(expr, operator, expression(operatorPrecedence + 1));
+                    break;
             }
-        };
-
-        return buildBinaryExpr(new TokenType[] { PLUS_PLUS }, termExpr);
+        }
     }
 
-    private Expr insertion() {
-        final var termExpr = new Parser.BinaryExprProducer() {
-            @Override
-            public Expr operand() {
-                return term();
-            }
-
-            @Override
-            public Token operator() {
-                return previous();
-            }
-
-            @Override
-            public Expr create(Expr leftOperand, Token operator, Expr rightOperand) {
-                return new Expr.Binary(leftOperand, operator, rightOperand);
-            }
-        };
-
-        return buildBinaryExpr(new TokenType[] { INSERTION }, termExpr);
-    }
+    private Expr assignment(final Expr target, final Token equals) {
+        // Right associative
+        final var value = expression(PRECEDENCE_ASSIGNMENT);
 
-    private Expr term() {
-        final var termExpr = new Parser.BinaryExprProducer() {
-            @Override
-            public Expr operand() {
-                return factor();
-            }
+        if (target instanceof Expr.Variable) {
+            return new Expr.Assign(((Expr.Variable) target).name, value);
+        } else if (target instanceof Expr.Get) {
+            final var get = (Expr.Get) target;
 
-            @Override
-            public Token operator() {
-                return previous();
-            }
+            return new Expr.Set(get.object, get.name, value);
+        }
 
-            @Override
-            public Expr create(Expr leftOperand, Token operator, Expr rightOperand) {
-                return new Expr.Binary(leftOperand, operator, rightOperand);
-            }
-        };
+        mErrorHandler.error(equals, "Invalid assignment target.");
 
-        return buildBinaryExpr(new TokenType[] { PLUS, MINUS, PLUS_PLUS }, termExpr);
+        return null;
     }
 
-    private Expr factor() {
-        final var termExpr = new Parser.BinaryExprProducer() {
-            @Override
-            public Expr operand() {
-                return unary();
-            }
+    private Expr conditional(final Expr condition) {
+        final var thenBranch = expression();
 
-            @Override
-            public Token operator() {
-                return previous();
-            }
+        expect(COLON, "Expected ':' after \"then\" branch of conditional expression");
 
-            @Override
-            public Expr create(Expr leftOperand, Token operator, Expr rightOperand) {
-                return new Expr.Binary(leftOperand, operator, rightOperand);
-            }
-        };
-
-        return buildBinaryExpr(new TokenType[] { SLASH, STAR, MOD, EXPONENT }, termExpr);
+        final var elseBranch = expression(PRECEDENCE_CONDITIONAL);
 
+        return new Expr.Conditional(condition, thenBranch, elseBranch);
     }
 
     private Expr unary() {
@@ -702,9 +568,9 @@ public final class Parser {
     }
 
     private Expr prefix() {
-        final var currentTokenType = peek().type;
+        final var currentTokenType = peekType();
         final var isPrefixExpr = (currentTokenType == PLUS_PLUS
-                || currentTokenType == MINUS_MINUS) && peekNext().type == IDENTIFIER;
+                || currentTokenType == MINUS_MINUS) && peekNextType() == IDENTIFIER;
 
         if (isPrefixExpr) {
             final var operator = advance();
@@ -716,15 +582,15 @@ public final class Parser {
     }
 
     private Expr postfix() {
-        final var nextTokenType = peekNext().type;
+        final var nextTokenType = peekNextType();
 
-        final var nextNextTokenType = peekNextNext().type;
+        final var nextNextTokenType = peekNextNextType();
 
         final var isNextNextTokenConcatenationOperand = nextNextTokenType == IDENTIFIER
                 || nextNextTokenType == STRING
                 || nextNextTokenType == LEFT_BRACKET || nextNextTokenType == LEFT_PAREN;
 
-        final var isPostFixExpr = peek().type == IDENTIFIER &&
+        final var isPostFixExpr = peekType() == IDENTIFIER &&
                 (nextTokenType == PLUS_PLUS || nextTokenType == MINUS_MINUS)
                 && !isNextNextTokenConcatenationOperand;
 
@@ -867,29 +733,29 @@ public final class Parser {
     }
 
     private boolean isAtStartOfLambda() {
-        var currentToken = peek();
+        var currentTokenType = peekType();
 
-        var nextToken = peekNext();
+        var nextTokenType = peekNextType();
 
         BooleanSupplier findArrowToken = () -> {
-            var currentTokenIndex = mCurrentToken + 2;
-            var currentTokenType = mTokens.get(currentTokenIndex).type;
+            var distance = 2;
+            var tokenType = mTokens.type(distance);
 
-            while (!isAtEnd()
-                    && currentTokenType != SEMICOLON) {
-                if (mTokens.get(currentTokenIndex).type == TokenType.ARROW) {
+            while (tokenType != EOF
+                    && tokenType != SEMICOLON) {
+                if (tokenType == TokenType.ARROW) {
                     return true;
                 }
 
-                currentTokenType = mTokens.get(++currentTokenIndex).type;
+                tokenType = mTokens.type(++distance);
             }
 
             return false;
         };
 
-        return (currentToken.type == RIGHT_PAREN
-                && nextToken.type == ARROW)
-                || (currentToken.type == IDENTIFIER
+        return (currentTokenType == RIGHT_PAREN
+                && nextTokenType == ARROW)
+                || (currentTokenType == IDENTIFIER
                         && findArrowToken.getAsBoolean());
     }
 
@@ -918,9 +784,9 @@ public final class Parser {
             } while (match(delimiter));
         }
 
-        consume(RIGHT_PAREN, "Expected closing ')' after parameter list.");
+        expect(RIGHT_PAREN, "Expected closing ')' after parameter list.");
 
-        consume(ARROW, "Expected \"->\" after parameter list.");
+        expect(ARROW, "Expected \"->\" after parameter list.");
 
         return parseLambdaBody(parameters);
     }
@@ -958,7 +824,7 @@ public final class Parser {
     private Expr parseGrouping() {
         final var expr = expression();
 
-        consume(RIGHT_PAREN, "Expected ')' after expression.");
+        expect(RIGHT_PAREN, "Expected ')' after expression.");
 
         return new Expr.Grouping(expr);
     }
@@ -975,7 +841,7 @@ public final class Parser {
             exprList.add(expr);
         } while (match(COMMA));
 
-        consume(RIGHT_BRACKET, "Missing right bracket in array expression");
+        expect(RIGHT_BRACKET, "Missing right bracket in array expression");
 
         return new Expr.Array(exprList);
     }
@@ -990,20 +856,20 @@ public final class Parser {
 
     private boolean handleEqualityError() {
         mErrorHandler.error(previous(), "Missing left-hand operand in equality expression.");
-        equality();
+        expression(PRECEDENCE_EQUALITY);
         return true;
     }
 
     private boolean handleBinaryOperatorError() {
         if (match(GREATER, GREATER_EQUAL, LESS, LESS_EQUAL)) {
             mErrorHandler.error(previous(), "Missing left-hand operand in comparison expression.");
-            comparison();
+            expression(PRECEDENCE_COMPARISON);
             return true;
         }
 
         if (match(EXPONENT, SLASH, MOD, STAR)) {
             mErrorHandler.error(previous(), "Missing left-hand operand in arithmetic expression.");
-            factor();
+            expression(PRECEDENCE_FACTOR);
             return true;
         }
 
@@ -1021,7 +887,7 @@ public final class Parser {
         if (currentToken.type == IDENTIFIER || currentToken.type == STRING
                 || currentToken.type == LEFT_BRACKET) {
             mErrorHandler.error(operator, "Missing left-hand operand in concatenation expression.");
-            concatenation();
+            expression(PRECEDENCE_CONCATENATION);
             return true;
         }
 
@@ -1032,11 +898,18 @@ public final class Parser {
     }
 
     private Token consume(final TokenType tokenType, final String message) {
-        if (check(tokenType)) {
-            return advance();
+        expect(tokenType, message);
+
+        return previous();
+    }
+
+    // Consumes a token that isn't needed afterwards
+    private void expect(final TokenType tokenType, final String message) {
+        if (!check(tokenType)) {
+            throw error(peek(), message);
         }
 
-        throw error(peek(), message);
+        advanceInputPointer();
     }
 
     private void checkForMissingSemicolon() {
@@ -1061,7 +934,7 @@ public final class Parser {
                 return;
             }
 
-            switch (peek().type) {
+            switch (peekType()) {
                 case CLASS:
                 case FUN:
                 case LET:
@@ -1093,54 +966,43 @@ public final class Parser {
             return false;
         }
 
-        return peek().type == type;
+        return peekType() == type;
     }
 
     private boolean isAtEnd() {
-        return (peek().type == EOF);
+        return (peekType() == EOF);
     }
 
+    // Only the tokens that end up in the syntax tree, or in an error, are ever built; the rest are matched by type
     private Token peek() {
-        return mTokens.get(mCurrentToken);
+        return mTokens.token(0);
     }
 
-    private Token peekNext() {
-        return mTokens.get(mCurrentToken + 1);
+    private TokenType peekType() {
+        return mTokens.type(0);
     }
 
-    private Token peekNextNext() {
-        final var nextNext = mCurrentToken + 2;
-        final var totalTokens = mTokens.size();
-        return (nextNext >= totalTokens ? mTokens.get(totalTokens - 1) : mTokens.get(nextNext));
+    private TokenType peekNextType() {
+        return mTokens.type(1);
+    }
+
+    private TokenType peekNextNextType() {
+        return mTokens.type(2);
     }
 
     private void advanceInputPointer() {
         if (!isAtEnd()) {
-            ++mCurrentToken;
+            mTokens.advance();
         }
     }
 
     private Token advance() {
-        if (!isAtEnd()) {
-            ++mCurrentToken;
-        }
+        advanceInputPointer();
 
         return previous();
     }
 
     private Token previous() {
-        return mTokens.get(mCurrentToken - 1);
-    }
-
-    private Expr buildBinaryExpr(final TokenType[] operators, final BinaryExprProducer exprProducer) {
-        var expr = exprProducer.operand();
-
-        while (match(operators)) {
-            final var operator = exprProducer.operator();
-            final var rightOperand = exprProducer.operand();
-            expr = exprProducer.create(expr, operator, rightOperand);
-        }
-
-        return expr;
+        return mTokens.previous();
     }
 }
@@ -9,7 +9,6 @@ import java.util.function.BiFunction;
 import java.util.function.BooleanSupplier;
 
 import com.lang.lox.error.LoxErrorHandler;
-import com.lang.lox.interpreter.Interpreter;
 import com.lang.lox.scanner.token.Token;
 import com.lang.lox.scanner.token.TokenType;
 import com.lang.lox.syntax.*;
@@ -69,6 +68,8 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 		public final Token name;
 		public VariableState state;
 		public final int slot;
+		public int references = 0;
+		public int assignments = 0;
 
 		private Variable(final Token name, final VariableState state, final int slot) {
 			this.name = name;
@@ -78,14 +79,14 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 	}
 
 	private final Stack<Map<String, Variable>> mScopes = new Stack<>();
-	private final Interpreter mInterpreter;
+	private final Map<String, MemberAccess> mMembers;
 	private final LoxErrorHandler mErrorHandler;
 	private FunctionType mCurrentFunctionType = FunctionType.NONE;
 	private ClassType mCurrentClassType = ClassType.NONE;
 	private Optional<Map<String, Variable>> mCurrentClassScope = Optional.empty();
 
-	public Resolver(final Interpreter interpreter, final LoxErrorHandler errorHandler) {
-		mInterpreter = interpreter;
+	public Resolver(final Map<String, MemberAccess> members, final LoxErrorHandler errorHandler) {
+		mMembers = members;
 		mErrorHandler = errorHandler;
 	}
 
@@ -119,12 +120,22 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 	}
 
 	private void resolveFunction(final Function function, final FunctionType type) {
+		final var params = function.params;
+
+		// Defaults are evaluated in the function's closure, so they only see what encloses the function
+		params.forEach(param -> {
+			if (param.second != null) {
+				resolve(param.second);
+			}
+		});
+
+		function.defaults = new DefaultParameters(params);
+
 		final var enclosingFunctionType = mCurrentFunctionType;
 		mCurrentFunctionType = type;
 
 		beginScope();
 
-		final var params = function.params;
 		if (!params.isEmpty()) {
 			params.forEach(param -> {
 				var token = param.first;
@@ -137,7 +148,7 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 
 		checkForSuperConstructorCall(function);
 
-		endScope();
+		function.frameSize = endScope();
 		mCurrentFunctionType = enclosingFunctionType;
 	}
 
@@ -178,11 +189,92 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 
 		resolve(stmt.statements);
 
-		endScope();
+		markCountedLoop(stmt.statements);
+
+		stmt.frameSize = endScope();
 
 		return null;
 	}
 
+	// Matches the block a "for" loop desugars into, { let i = ...; while (i < limit) { ...; i++; } }, when nothing
+	// but the incrementer changes the counter
+	private void markCountedLoop(final List<Stmt> statements) {
+		if (statements.size() != 2 || !(statements.get(0) instanceof Let) || !(statements.get(1) instanceof While)) {
+			return;
+		}
+
+		final var counter = ((Let) statements.get(0)).name;
+		final var loop = (While) statements.get(1);
+
+		if (loop.incrementer == null || loop.incrementer.isEmpty() || !(loop.body instanceof Block)
+				|| !(loop.condition instanceof Binary)) {
+			return;
+		}
+
+		final var condition = (Binary) loop.condition;
+		final var incrementer = loop.incrementer.get().expression;
+		final var step = countedLoopStep(incrementer, counter);
+		final var binding = mScopes.peek().get(counter.lexeme);
+
+		if (!isCountedLoopComparison(condition.operator.type) || !refersTo(condition.left, counter) || step == null
+				|| binding.assignments != 1) {
+			return;
+		}
+
+		// References besides the condition's and the incrementer's come from the limit or the body
+		final var expectedReferences = 1 + (incrementer instanceof Assign ? 2 : 1);
+
+		loop.countedLoop = new CountedLoop(binding.slot, condition.operator, condition.right, step,
+				binding.references > expectedReferences);
+	}
+
+	private static boolean isCountedLoopComparison(final TokenType type) {
+		return type == TokenType.LESS || type == TokenType.LESS_EQUAL || type == TokenType.GREATER
+				|| type == TokenType.GREATER_EQUAL;
+	}
+
+	private static boolean refersTo(final Expr expr, final Token name) {
+		return expr instanceof Expr.Variable && ((Expr.Variable) expr).name.lexeme.equals(name.lexeme);
+	}
+
+	// The constant a counter moves by in "i++", "++i", "i--", "--i", "i = i + k" or "i = i - k", otherwise null
+	private static Double countedLoopStep(final Expr incrementer, final Token counter) {
+		if (incrementer instanceof Postfix && refersTo(((Postfix) incrementer).left, counter)) {
+			return step(((Postfix) incrementer).operator.type);
+		}
+
+		if (incrementer instanceof Prefix && refersTo(((Prefix) incrementer).right, counter)) {
+			return step(((Prefix) incrementer).operator.type);
+		}
+
+		if (!(incrementer instanceof Assign) || !((Assign) incrementer).name.lexeme.equals(counter.lexeme)
+				|| !(((Assign) incrementer).value instanceof Binary)) {
+			return null;
+		}
+
+		final var value = (Binary) ((Assign) incrementer).value;
+
+		if (!refersTo(value.left, counter) || !(value.right instanceof Literal)
+				|| !(((Literal) value.right).value instanceof Double)) {
+			return null;
+		}
+
+		final var amount = (double) ((Literal) value.right).value;
+
+		switch (value.operator.type) {
+			case PLUS:
+				return amount;
+			case MINUS:
+				return -amount;
+			default:
+				return null;
+		}
+	}
+
+	private static Double step(final TokenType operator) {
+		return operator == TokenType.PLUS_PLUS ? 1.0 : -1.0;
+	}
+
 	@Override
 	public Void visitClassStmt(Class stmt) {
 		final var enclosingClassType = mCurrentClassType;
@@ -201,6 +293,8 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 			resolve(stmt.superclass);
 		}
 
+		declareMembers(stmt);
+
 		beginScope();
 		final var scope = mScopes.peek();
 
@@ -241,6 +335,27 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 		return null;
 	}
 
+	private void declareMembers(final Stmt.Class clss) {
+		clss.fields.forEach(field -> memberAccess(field.name).declare(field.visibility));
+		clss.classFields.forEach(field -> memberAccess(field.name).declare(field.visibility));
+		clss.methods.forEach(method -> memberAccess(method.name).declare(method.visibility));
+		clss.classMethods.forEach(method -> memberAccess(method.name).declare(method.visibility));
+	}
+
+	private MemberAccess memberAccess(final Token name) {
+		return mMembers.computeIfAbsent(name.lexeme, lexeme -> new MemberAccess());
+	}
+
+	private static boolean isThis(final Expr expr) {
+		var object = expr;
+
+		while (object instanceof Expr.Grouping) {
+			object = ((Expr.Grouping) object).expression;
+		}
+
+		return object instanceof Expr.This;
+	}
+
 	private void defineMetaClass(final String thisKeyword, final Stmt.Class clss) {
 		final var classFelds = clss.classFields;
 		if (!classFelds.isEmpty()) {
@@ -273,8 +388,8 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 		expr.accept(this);
 	}
 
-	private void endScope() {
-		mScopes.pop();
+	private int endScope() {
+		return mScopes.pop().size();
 	}
 
 	@Override
@@ -304,6 +419,12 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 			}
 
 			resolve(value);
+
+			// Nothing is left to do in this function once the call returns, so its frame need not stay around
+			if (value instanceof Expr.Call && !(((Expr.Call) value).callee instanceof Expr.Super)
+					&& mCurrentFunctionType != FunctionType.INITIALIZER) {
+				((Expr.Call) value).isTailCall = true;
+			}
 		}
 
 		return null;
@@ -366,6 +487,7 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 	public Void visitAssignExpr(Assign expr) {
 		resolve(expr.value);
 		resolveLocal(expr, expr.name, true);
+		markAssigned(expr.name);
 		return null;
 	}
 
@@ -415,6 +537,9 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 	public Void visitGetExpr(Get expr) {
 		resolve(expr.object);
 
+		expr.accessOccursWithinClass = isThis(expr.object);
+		expr.access = memberAccess(expr.name);
+
 		if (expr.name.lexeme.equals("init")) {
 			mErrorHandler.error(expr.name,
 					mCurrentClassType != ClassType.NONE
@@ -438,6 +563,9 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 
 		resolve(expr.value);
 		resolve(expr.object);
+
+		expr.accessOccursWithinClass = isThis(expr.object);
+		expr.access = memberAccess(expr.name);
 		return null;
 	}
 
@@ -526,12 +654,14 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 		return null;
 	}
 
-	private void resolveLocal(final Expr expr, final Token name, final boolean isRead) {
+	private void resolveLocal(final Expr.LocalReference expr, final Token name, final boolean isRead) {
 		final var lexeme = name.lexeme;
 		for (var i = mScopes.size() - 1; i >= 0; --i) {
 			final var binding = mScopes.get(i).get(lexeme);
 			if (binding != null) {
-				mInterpreter.resolve(expr, mScopes.size() - 1 - i, binding.slot);
+				expr.depth = mScopes.size() - 1 - i;
+				expr.slot = binding.slot;
+				++binding.references;
 
 				if (binding.state != VariableState.READ && isRead) {
 					binding.state = VariableState.READ;
@@ -543,6 +673,16 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 		}
 	}
 
+	private void markAssigned(final Token name) {
+		for (var i = mScopes.size() - 1; i >= 0; --i) {
+			final var binding = mScopes.get(i).get(name.lexeme);
+			if (binding != null) {
+				++binding.assignments;
+				break;
+			}
+		}
+	}
+
 	@Override
 	public Void visitLambdaExpr(Lambda expr) {
 		resolveLambda(expr, FunctionType.LAMBDA);
@@ -566,19 +706,21 @@ public class Resolver implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
 
 		resolve(lambda.body);
 
-		endScope();
+		lambda.frameSize = endScope();
 		mCurrentFunctionType = enclosingFunctionType;
 	}
 
 	@Override
 	public Void visitPostfixExpr(Postfix expr) {
 		resolve(expr.left);
+		markAssigned(expr.left.name);
 		return null;
 	}
 
 	@Override
 	public Void visitPrefixExpr(Prefix expr) {
 		resolve(expr.right);
+		markAssigned(expr.right.name);
 		return null;
 	}
 }
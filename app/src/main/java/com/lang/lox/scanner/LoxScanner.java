@@ -4,182 +4,338 @@ import com.lang.lox.error.LoxErrorHandler;
 import com.lang.lox.scanner.token.Token;
 import com.lang.lox.scanner.token.TokenType;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Predicate;
 
-public final class LoxScanner {
-    private static final class Progress {
-        private int currentIndex = 0;
-        private int startIndex = 0;
-        private int sourceLine = 1;
-    }
+public final class LoxScanner implements TokenSource {
+    private static final int ALPHA = 1;
+    private static final int DIGIT = 2;
+    private static final int SPACE = 4;
+
+    // Character classes and single character tokens of the ASCII range, anything past it is unexpected
+    private static final byte[] CHARACTER_CLASSES = new byte[128];
+    private static final TokenType[] SINGLE_CHARACTER_TOKENS = new TokenType[128];
+
+    private static final int BUFFER_SIZE = 1 << 16;
 
-    private static final Map<String, TokenType> KEYWORDS;
+    // Literals with no more digits than this are decoded exactly without going through Double.parseDouble
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = new double[MAX_EXACT_DIGITS + 1];
 
     static {
-        KEYWORDS = new HashMap<>();
-        KEYWORDS.put("break", TokenType.BREAK);
-        KEYWORDS.put("and", TokenType.AND);
-        KEYWORDS.put("static", TokenType.STATIC);
-        KEYWORDS.put("public", TokenType.PUBLIC);
-        KEYWORDS.put("private", TokenType.PRIVATE);
-        KEYWORDS.put("protected", TokenType.PROTECTED);
-        KEYWORDS.put("class", TokenType.CLASS);
-        KEYWORDS.put("else", TokenType.ELSE);
-        KEYWORDS.put("false", TokenType.FALSE);
-        KEYWORDS.put("for", TokenType.FOR);
-        KEYWORDS.put("fun", TokenType.FUN);
-        KEYWORDS.put("if", TokenType.IF);
-        KEYWORDS.put("nil", TokenType.NIL);
-        KEYWORDS.put("or", TokenType.OR);
-        KEYWORDS.put("assert", TokenType.ASSERT);
-        KEYWORDS.put("continue", TokenType.CONTINUE);
-        KEYWORDS.put("return", TokenType.RETURN);
-        KEYWORDS.put("super", TokenType.SUPER);
-        KEYWORDS.put("this", TokenType.THIS);
-        KEYWORDS.put("true", TokenType.TRUE);
-        KEYWORDS.put("let", TokenType.LET);
-        KEYWORDS.put("while", TokenType.WHILE);
+        for (var c = 'a'; c <= 'z'; ++c) {
+            CHARACTER_CLASSES[c] = ALPHA;
+            CHARACTER_CLASSES[Character.toUpperCase(c)] = ALPHA;
+        }
+
+        CHARACTER_CLASSES['_'] = ALPHA;
+
+        for (var c = '0'; c <= '9'; ++c) {
+            CHARACTER_CLASSES[c] = DIGIT;
+        }
+
+        CHARACTER_CLASSES[' '] = SPACE;
+        CHARACTER_CLASSES['\r'] = SPACE;
+        CHARACTER_CLASSES['\t'] = SPACE;
+
+        SINGLE_CHARACTER_TOKENS['('] = TokenType.LEFT_PAREN;
+        SINGLE_CHARACTER_TOKENS[')'] = TokenType.RIGHT_PAREN;
+        SINGLE_CHARACTER_TOKENS['{'] = TokenType.LEFT_BRACE;
+        SINGLE_CHARACTER_TOKENS['}'] = TokenType.RIGHT_BRACE;
+        SINGLE_CHARACTER_TOKENS['['] = TokenType.LEFT_BRACKET;
+        SINGLE_CHARACTER_TOKENS[']'] = TokenType.RIGHT_BRACKET;
+        SINGLE_CHARACTER_TOKENS[','] = TokenType.COMMA;
+        SINGLE_CHARACTER_TOKENS[';'] = TokenType.SEMICOLON;
+        SINGLE_CHARACTER_TOKENS['%'] = TokenType.MOD;
+        SINGLE_CHARACTER_TOKENS['?'] = TokenType.CONDITIONAL;
+        SINGLE_CHARACTER_TOKENS[':'] = TokenType.COLON;
+        SINGLE_CHARACTER_TOKENS['|'] = TokenType.BAR;
+
+        POWERS_OF_TEN[0] = 1;
+
+        for (var i = 1; i <= MAX_EXACT_DIGITS; ++i) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
     }
 
     private boolean mSyntaxError = false;
 
-    private final Progress mProgress = new Progress();
+    private int mCurrentIndex = 0;
+
+    private int mStartIndex = 0;
 
-    private final String mSource;
+    private int mSourceLine = 1;
 
-    private final List<Token> mTokens = new ArrayList<>();
+    // A window onto the source, holding at least the token being scanned. It is refilled from the reader, when
+    // there is one, as scanning runs past its end
+    private char[] mBuffer;
+
+    private int mBufferLimit;
+
+    // Where in the source the window starts
+    private long mBufferOffset = 0;
+
+    private Reader mReader;
+
+    // Scanned tokens from the previous one on, which keep their text in the buffer until they are dropped
+    private final TokenBuffer mTokens = new TokenBuffer();
+
+    // Where the current token is in mTokens, once there is a previous one it sits in front of it
+    private int mCurrentToken = 0;
 
     private final LoxErrorHandler mErrorHandler;
 
+    private final SymbolTable mSymbols;
+
     public LoxScanner(final String source, final LoxErrorHandler errorHandler) {
-        mSource = source;
+        this(source, errorHandler, new SymbolTable());
+    }
+
+    public LoxScanner(final String source, final LoxErrorHandler errorHandler, final SymbolTable symbols) {
+        mBuffer = source.toCharArray();
+        mBufferLimit = mBuffer.length;
+        mReader = null;
+        mErrorHandler = errorHandler;
+        mSymbols = symbols;
+    }
+
+    // Reads the source in chunks, so only the token being scanned has to be held in memory at once
+    public LoxScanner(final Reader source, final LoxErrorHandler errorHandler, final SymbolTable symbols) {
+        mBuffer = new char[BUFFER_SIZE];
+        mBufferLimit = 0;
+        mReader = source;
         mErrorHandler = errorHandler;
+        mSymbols = symbols;
     }
 
     public List<Token> scanTokens() {
-        while (!mSyntaxError && !isAtEnd()) {
-            scanToken();
-        }
+        final List<Token> tokens = new ArrayList<>();
 
-        mTokens.add(new Token(TokenType.EOF, "", null, mProgress.sourceLine));
+        Token token;
 
-        return mTokens;
+        do {
+            token = token(0);
+            tokens.add(token);
+            advance();
+        } while (token.type != TokenType.EOF);
+
+        return tokens;
     }
 
-    private void addToken(TokenType type, final Object literal) {
-        final String text = mSource.substring(mProgress.startIndex, mProgress.currentIndex);
+    @Override
+    public TokenType type(final int distance) {
+        scanAhead(mCurrentToken + distance);
 
-        mTokens.add(new Token(type, text, literal, mProgress.sourceLine));
+        return mTokens.type(mCurrentToken + distance);
     }
 
-    private void addToken(TokenType type) {
-        addToken(type, null);
-    }
+    @Override
+    public Token token(final int distance) {
+        scanAhead(mCurrentToken + distance);
 
-    private boolean isAtEnd() {
-        return mProgress.currentIndex >= mSource.length();
+        return built(mCurrentToken + distance);
     }
 
-    private void scanToken() {
-        mProgress.startIndex = mProgress.currentIndex;
+    @Override
+    public void advance() {
+        scanAhead(mCurrentToken);
 
-        final char scannedCharacter = advance();
+        if (mCurrentToken > 0) {
+            mTokens.removeFirst();
+        } else {
+            mCurrentToken = 1;
+        }
+    }
 
-        lex(scannedCharacter);
+    @Override
+    public Token previous() {
+        return mCurrentToken > 0 ? built(0) : null;
     }
 
-    private char advance() {
-        return mSource.charAt(mProgress.currentIndex++);
+    private void scanAhead(final int index) {
+        while (mTokens.size() <= index) {
+            final var scanned = mTokens.size();
+
+            // Whitespace and comments are scanned past without yielding anything
+            while (mTokens.size() == scanned && !mSyntaxError && !isAtEnd()) {
+                scanToken();
+            }
+
+            if (mTokens.size() == scanned) {
+                mTokens.add(TokenType.EOF, mCurrentIndex, 0, mSourceLine);
+            }
+        }
     }
 
-    private void lex(final char scannedCharacter) {
-        if (scannedCharacter == '(') {
-            addToken(TokenType.LEFT_PAREN);
+    private Token built(final int index) {
+        var token = mTokens.token(index);
 
-        } else if (scannedCharacter == ')') {
-            addToken(TokenType.RIGHT_PAREN);
+        if (token == null) {
+            token = build(index);
+            mTokens.setToken(index, token);
+        }
 
-        } else if (scannedCharacter == '{') {
-            addToken(TokenType.LEFT_BRACE);
+        return token;
+    }
 
-        } else if (scannedCharacter == '}') {
-            addToken(TokenType.RIGHT_BRACE);
+    private Token build(final int index) {
+        final var type = mTokens.type(index);
+        final var start = mTokens.start(index);
+        final var end = start + mTokens.length(index);
 
-        } else if (scannedCharacter == '[') {
-            addToken(TokenType.LEFT_BRACKET);
+        Object literal = null;
 
-        } else if (scannedCharacter == ']') {
-            addToken(TokenType.RIGHT_BRACKET);
+        if (type == TokenType.STRING) {
+            // Trims the starting/ending '"'
+            literal = mSymbols.intern(mBuffer, start + 1, end - 1);
+        } else if (type == TokenType.NUMBER) {
+            literal = decodeNumber(start, end);
+        }
 
-        } else if (scannedCharacter == ',') {
-            addToken(TokenType.COMMA);
+        return new Token(type, mSymbols.intern(mBuffer, start, end), literal, mTokens.line(index));
+    }
 
-        } else if (scannedCharacter == '.') {
-            addToken(matches('.') ? TokenType.ELLIPSE : TokenType.DOT);
+    private void addToken(final TokenType type) {
+        mTokens.add(type, mStartIndex, mCurrentIndex - mStartIndex, mSourceLine);
+    }
 
-        } else if (scannedCharacter == '-') {
-            resolveMinusToken();
+    private boolean isAtEnd() {
+        return !isAvailable(0);
+    }
 
-        } else if (scannedCharacter == '+') {
-            addToken(matches('+') ? TokenType.PLUS_PLUS : TokenType.PLUS);
+    // Whether the character "ahead" places past the current one is in the buffer, refilling it as needed
+    private boolean isAvailable(final int ahead) {
+        while (mCurrentIndex + ahead >= mBufferLimit) {
+            if (!fill()) {
+                return false;
+            }
+        }
 
-        } else if (scannedCharacter == ';') {
-            addToken(TokenType.SEMICOLON);
+        return true;
+    }
 
-        } else if (scannedCharacter == '*') {
-            addToken(matches('*') ? TokenType.EXPONENT : TokenType.STAR);
+    private boolean fill() {
+        if (mReader == null) {
+            return false;
+        }
 
-        } else if (scannedCharacter == '%') {
-            addToken(TokenType.MOD);
+        // Everything before the earliest token still held, or else the one being scanned, has been dealt with
+        final var kept = mTokens.size() > 0 ? Math.min(mTokens.start(0), mStartIndex) : mStartIndex;
 
-        } else if (scannedCharacter == '?') {
-            addToken(TokenType.CONDITIONAL);
+        if (kept > 0) {
+            System.arraycopy(mBuffer, kept, mBuffer, 0, mBufferLimit - kept);
+            mBufferLimit -= kept;
+            mCurrentIndex -= kept;
+            mStartIndex -= kept;
+            mBufferOffset += kept;
+            mTokens.shift(kept);
+        }
 
-        } else if (scannedCharacter == ':') {
-            addToken(TokenType.COLON);
+        if (mBufferLimit == mBuffer.length) {
+            mBuffer = Arrays.copyOf(mBuffer, mBuffer.length * 2);
+        }
 
-        } else if (scannedCharacter == '|') {
-            addToken(TokenType.BAR);
+        try {
+            final var read = mReader.read(mBuffer, mBufferLimit, mBuffer.length - mBufferLimit);
 
-        } else if (isSpaceCharacter(scannedCharacter)) {
-            ignoreSpaceCharacters();
+            if (read < 0) {
+                mReader.close();
+                mReader = null;
+                return false;
+            }
 
-        } else if (scannedCharacter == '\n') {
-            ++mProgress.sourceLine;
+            mBufferLimit += read;
 
-        } else if (scannedCharacter == '!') {
-            addToken(matches('=') ? TokenType.BANG_EQUAL : TokenType.BANG);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        } else if (scannedCharacter == '=') {
-            resolveEqualsToken();
+    private long column() {
+        return mBufferOffset + mCurrentIndex;
+    }
 
-        } else if (scannedCharacter == '<') {
-            resolveLessThanToken();
+    private void scanToken() {
+        mStartIndex = mCurrentIndex;
 
-        } else if (scannedCharacter == '>') {
-            addToken(matches('=') ? TokenType.GREATER_EQUAL : TokenType.GREATER);
+        lex(mBuffer[mCurrentIndex++]);
+    }
 
-        } else if (scannedCharacter == '/') {
-            inspectSlash();
+    private void lex(final char scannedCharacter) {
+        final var singleCharacterToken = scannedCharacter < 128 ? SINGLE_CHARACTER_TOKENS[scannedCharacter] : null;
 
-        } else if (scannedCharacter == '"') {
-            string();
+        if (singleCharacterToken != null) {
+            addToken(singleCharacterToken);
+            return;
+        }
 
-        } else if (isDigit(scannedCharacter)) {
-            number();
+        switch (scannedCharacter) {
+            case '.':
+                addToken(matches('.') ? TokenType.ELLIPSE : TokenType.DOT);
+                break;
+            case '-':
+                addToken(matches('-') ? TokenType.MINUS_MINUS : TokenType.MINUS);
+                break;
+            case '+':
+                addToken(matches('+') ? TokenType.PLUS_PLUS : TokenType.PLUS);
+                break;
+            case '*':
+                addToken(matches('*') ? TokenType.EXPONENT : TokenType.STAR);
+                break;
+            case '!':
+                addToken(matches('=') ? TokenType.BANG_EQUAL : TokenType.BANG);
+                break;
+            case '=':
+                resolveEqualsToken();
+                break;
+            case '<':
+                resolveLessThanToken();
+                break;
+            case '>':
+                addToken(matches('=') ? TokenType.GREATER_EQUAL : TokenType.GREATER);
+                break;
+            case '/':
+                inspectSlash();
+                break;
+            case '"':
+                string();
+                break;
+            case '\n':
+                ++mSourceLine;
+                break;
+            default:
+                lexClassified(scannedCharacter);
+                break;
+        }
+    }
 
-        } else if (isAlpha(scannedCharacter)) {
-            identifier();
-        } else {
-            mErrorHandler.error(mProgress.sourceLine,
-                    String.format("Unexpected character: %c", scannedCharacter));
+    private void lexClassified(final char scannedCharacter) {
+        switch (characterClass(scannedCharacter)) {
+            case SPACE:
+                ignoreSpaceCharacters();
+                break;
+            case DIGIT:
+                number();
+                break;
+            case ALPHA:
+                identifier();
+                break;
+            default:
+                mErrorHandler.error(mSourceLine,
+                        String.format("Unexpected character: %c", scannedCharacter));
+                break;
         }
     }
 
+    private static int characterClass(final char character) {
+        return character < 128 ? CHARACTER_CLASSES[character] : 0;
+    }
+
     private void resolveEqualsToken() {
         if (matches('>')) {
             addToken(TokenType.ARROW);
@@ -192,60 +348,26 @@ public final class LoxScanner {
 
     private void resolveLessThanToken() {
         if (peek() == '<' && peekNext() == '<') {
-            mProgress.currentIndex += 2;
+            mCurrentIndex += 2;
             addToken(TokenType.INSERTION);
         } else {
             addToken(matches('=') ? TokenType.LESS_EQUAL : TokenType.LESS);
         }
     }
 
-    private void resolveMinusToken() {
-        TokenType token;
-
-        if (matches('-')) {
-            token = TokenType.MINUS_MINUS;
-        } else {
-            token = TokenType.MINUS;
-        }
-
-        addToken(token);
-    }
-
-    private boolean isSpaceCharacter(final char character) {
-        return character == ' ' || character == '\r' || character == '\t';
-    }
-
     private void ignoreSpaceCharacters() {
-        final char nextCharacter = peek();
-
-        if (!isSpaceCharacter(nextCharacter)) {
-            return;
-        }
-
-        final char[] nextChar = {nextCharacter};
-
-        final Runnable skip = () -> {
-            ++mProgress.currentIndex;
-
-            nextChar[0] = peek();
-        };
-
-        while (isSpaceCharacter(nextChar[0]) && !isAtEnd()) {
-            skip.run();
+        while (!isAtEnd() && characterClass(mBuffer[mCurrentIndex]) == SPACE) {
+            ++mCurrentIndex;
         }
     }
 
     private void inspectSlash() {
-        final Runnable ignoreUntilNewLine = () -> {
-            while (peek() != '\n' && !isAtEnd()) {
-                ++mProgress.currentIndex;
-            }
-        };
-
         if (matches('*')) {
             ignoreMultiLineComment();
         } else if (matches('/')) {
-            ignoreUntilNewLine.run();
+            while (peek() != '\n' && !isAtEnd()) {
+                mStartIndex = ++mCurrentIndex;
+            }
         } else {
             addToken(TokenType.SLASH);
         }
@@ -254,159 +376,230 @@ public final class LoxScanner {
     private void ignoreMultiLineComment() {
         boolean foundEndOfComment = peek() == '*' && peekNext() == '/';
 
-        final Runnable incrementInputPointer = () -> {
+        while (!foundEndOfComment && !isAtEnd()) {
             if (peek() == '\n') {
-                ++mProgress.sourceLine;
+                ++mSourceLine;
             }
 
-            ++mProgress.currentIndex;
-        };
-
-        while (!foundEndOfComment && !isAtEnd()) {
-            incrementInputPointer.run();
+            // Comments yield no token, so none of one has to stay buffered
+            mStartIndex = ++mCurrentIndex;
             foundEndOfComment = peek() == '*' && peekNext() == '/';
-
-            if (isAtEnd()) {
-                break;
-            }
         }
 
         if (foundEndOfComment) {
-            if (mSource.charAt(mProgress.currentIndex + 2) == '*') {
-                mErrorHandler.detailedError(mProgress.sourceLine, mProgress.currentIndex,
+            if (isAvailable(2) && mBuffer[mCurrentIndex + 2] == '*') {
+                mErrorHandler.detailedError(mSourceLine, column(),
                         "Joint multiline comment");
                 mSyntaxError = true;
             } else {
-                mProgress.currentIndex += 2;
+                mCurrentIndex += 2;
             }
 
         } else {
-            mErrorHandler.detailedError(mProgress.sourceLine, mProgress.currentIndex,
+            mErrorHandler.detailedError(mSourceLine, column(),
                     "Unterminated comment");
             mSyntaxError = true;
         }
     }
 
     private char peek() {
-        return (isAtEnd() ? '\0' : mSource.charAt(mProgress.currentIndex));
+        return (isAtEnd() ? '\0' : mBuffer[mCurrentIndex]);
     }
 
-    private boolean matches(char expected) {
-        if (isAtEnd()) {
+    private boolean matches(final char expected) {
+        if (isAtEnd() || mBuffer[mCurrentIndex] != expected) {
             return false;
         }
 
-        if (mSource.charAt(mProgress.currentIndex) != expected) {
-            return false;
-        }
-
-        ++mProgress.currentIndex;
+        ++mCurrentIndex;
 
         return true;
     }
 
     private void string() {
-        final Runnable computeStringLiteralLength = () -> {
+        while (peek() != '"' && !isAtEnd()) {
             if (peek() == '\n') {
-                ++mProgress.sourceLine;
+                ++mSourceLine;
             }
 
-            ++mProgress.currentIndex;
-        };
-
-        while (peek() != '"' && !isAtEnd()) {
-            computeStringLiteralLength.run();
+            ++mCurrentIndex;
         }
 
         if (isAtEnd()) {
-            mErrorHandler.error(mProgress.sourceLine, "Unterminated string");
+            mErrorHandler.error(mSourceLine, "Unterminated string");
             return;
         }
 
-        ++mProgress.currentIndex;
+        ++mCurrentIndex;
 
-        // Trims the starting/ending '"'
-        addToken(TokenType.STRING, mSource.substring(mProgress.startIndex + 1, mProgress.currentIndex - 1));
+        addToken(TokenType.STRING);
     }
 
-    private boolean isDigit(final char scannedCharacter) {
-        return (scannedCharacter >= '0' && scannedCharacter <= '9');
+    private static boolean isDigit(final char character) {
+        return characterClass(character) == DIGIT;
     }
 
     private void number() {
         while (isDigit(peek())) {
-            ++mProgress.currentIndex;
+            ++mCurrentIndex;
         }
 
-        final Runnable addFloatingPointNumberToken = () -> {
-            ++mProgress.currentIndex;
+        if (peek() == '.' && isDigit(peekNext())) {
+            ++mCurrentIndex;
 
             while (isDigit(peek())) {
-                ++mProgress.currentIndex;
+                ++mCurrentIndex;
             }
-        };
+        }
 
-        final char nextCharacter = peek();
+        addToken(TokenType.NUMBER);
+    }
 
-        if (nextCharacter == '.' && isDigit(peekNext())) {
-            addFloatingPointNumberToken.run();
-        }
+    // Both the digits, read as a whole number, and the power of ten dividing them are exact, so the one division
+    // rounds the same way Double.parseDouble would
+    private double decodeNumber(final int start, final int end) {
+        long digits = 0;
+        var digitCount = 0;
+        var fractionDigitCount = -1;
 
-        addToken(TokenType.NUMBER,
-                Double.parseDouble(
-                        mSource.substring(mProgress.startIndex, mProgress.currentIndex)));
+        for (var i = start; i < end; ++i) {
+            final var character = mBuffer[i];
 
-    }
+            if (character == '.') {
+                fractionDigitCount = 0;
+                continue;
+            }
 
-    private char peekNext() {
-        return (mProgress.currentIndex + 1 >= mSource.length() ? '\0'
-                : mSource.charAt(mProgress.currentIndex + 1));
+            if (++digitCount > MAX_EXACT_DIGITS) {
+                return Double.parseDouble(new String(mBuffer, start, end - start));
+            }
+
+            digits = digits * 10 + (character - '0');
+
+            if (fractionDigitCount >= 0) {
+                ++fractionDigitCount;
+            }
+        }
+
+        return fractionDigitCount > 0 ? digits / POWERS_OF_TEN[fractionDigitCount] : digits;
     }
 
-    private boolean isAlpha(final char character) {
-        return (character >= 'a' && character <= 'z' ||
-                character >= 'A' && character <= 'Z' ||
-                character == '_');
+    private char peekNext() {
+        return (isAvailable(1) ? mBuffer[mCurrentIndex + 1] : '\0');
     }
 
     private void identifier() {
-        final Predicate<Character> inspectForSyntaxError = (currentCharacter) -> {
-            if (currentCharacter == '\n') {
-                mErrorHandler.detailedError(mProgress.sourceLine, mProgress.currentIndex,
+        while (isAlphaNumeric(peek()) || isAllowableIdentifierSuffix(peek())) {
+            ++mCurrentIndex;
+
+            if (peek() == '\n') {
+                mErrorHandler.detailedError(mSourceLine, column(),
                         "bad syntax multiple expressions after identifier");
-                return (mSyntaxError = true);
+                mSyntaxError = true;
             }
-
-            return false;
-        };
-
-        while (isAlphaNumeric(peek())
-                || isAllowableIdentifierSuffix(peek())) {
-            ++mProgress.currentIndex;
-            inspectForSyntaxError.test(peek());
         }
 
-        final String lexeme = mSource.substring(mProgress.startIndex, mProgress.currentIndex);
-
-        final TokenType tokenType = isKeyWord(lexeme);
+        final var length = mCurrentIndex - mStartIndex;
 
-        mTokens.add(
-                new Token(
-                        tokenType != null ? tokenType : TokenType.IDENTIFIER,
-                        lexeme,
-                        null,
-                        mProgress.sourceLine));
+        addToken(keyword(mStartIndex, length));
     }
 
-    private boolean isAlphaNumeric(final char character) {
-        return isAlpha(character) || isDigit(character);
+    private static boolean isAlphaNumeric(final char character) {
+        return (characterClass(character) & (ALPHA | DIGIT)) != 0;
     }
 
-    private boolean isAllowableIdentifierSuffix(final char character) {
+    private static boolean isAllowableIdentifierSuffix(final char character) {
         return character == '\'';
     }
 
-    private TokenType isKeyWord(final String lexeme) {
-        return KEYWORDS.get(lexeme);
+    // A trie over the keywords, spelled out as nested switches on their leading characters
+    private TokenType keyword(final int start, final int length) {
+        final var second = length > 1 ? mBuffer[start + 1] : '\0';
+
+        switch (mBuffer[start]) {
+            case 'a':
+                if (second == 'n') {
+                    return keywordRest(start, length, 2, "d", TokenType.AND);
+                } else if (second == 's') {
+                    return keywordRest(start, length, 2, "sert", TokenType.ASSERT);
+                }
+                break;
+            case 'b':
+                return keywordRest(start, length, 1, "reak", TokenType.BREAK);
+            case 'c':
+                if (second == 'l') {
+                    return keywordRest(start, length, 2, "ass", TokenType.CLASS);
+                } else if (second == 'o') {
+                    return keywordRest(start, length, 2, "ntinue", TokenType.CONTINUE);
+                }
+                break;
+            case 'e':
+                return keywordRest(start, length, 1, "lse", TokenType.ELSE);
+            case 'f':
+                if (second == 'a') {
+                    return keywordRest(start, length, 2, "lse", TokenType.FALSE);
+                } else if (second == 'o') {
+                    return keywordRest(start, length, 2, "r", TokenType.FOR);
+                } else if (second == 'u') {
+                    return keywordRest(start, length, 2, "n", TokenType.FUN);
+                }
+                break;
+            case 'i':
+                return keywordRest(start, length, 1, "f", TokenType.IF);
+            case 'l':
+                return keywordRest(start, length, 1, "et", TokenType.LET);
+            case 'n':
+                return keywordRest(start, length, 1, "il", TokenType.NIL);
+            case 'o':
+                return keywordRest(start, length, 1, "r", TokenType.OR);
+            case 'p':
+                if (second == 'u') {
+                    return keywordRest(start, length, 2, "blic", TokenType.PUBLIC);
+                } else if (second == 'r' && length > 2) {
+                    if (mBuffer[start + 2] == 'i') {
+                        return keywordRest(start, length, 3, "vate", TokenType.PRIVATE);
+                    } else if (mBuffer[start + 2] == 'o') {
+                        return keywordRest(start, length, 3, "tected", TokenType.PROTECTED);
+                    }
+                }
+                break;
+            case 'r':
+                return keywordRest(start, length, 1, "eturn", TokenType.RETURN);
+            case 's':
+                if (second == 't') {
+                    return keywordRest(start, length, 2, "atic", TokenType.STATIC);
+                } else if (second == 'u') {
+                    return keywordRest(start, length, 2, "per", TokenType.SUPER);
+                }
+                break;
+            case 't':
+                if (second == 'h') {
+                    return keywordRest(start, length, 2, "is", TokenType.THIS);
+                } else if (second == 'r') {
+                    return keywordRest(start, length, 2, "ue", TokenType.TRUE);
+                }
+                break;
+            case 'w':
+                return keywordRest(start, length, 1, "hile", TokenType.WHILE);
+            default:
+                break;
+        }
+
+        return TokenType.IDENTIFIER;
+    }
+
+    private TokenType keywordRest(final int start, final int length, final int offset, final String rest,
+                                  final TokenType type) {
+        if (length != offset + rest.length()) {
+            return TokenType.IDENTIFIER;
+        }
+
+        for (var i = 0; i < rest.length(); ++i) {
+            if (mBuffer[start + offset + i] != rest.charAt(i)) {
+                return TokenType.IDENTIFIER;
+            }
+        }
+
+        return type;
     }
 }
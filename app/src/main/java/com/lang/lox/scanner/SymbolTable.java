@@ -0,0 +1,83 @@
+package com.lang.lox.scanner;
+
+// Hands out a single String for each distinct piece of source text, so every occurrence of an identifier or literal
+// shares one instance and its cached hash instead of copying its own. Text is hashed where it lies in the source,
+// the same way String.hashCode does, so finding a symbol that was seen before allocates nothing
+public final class SymbolTable {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private String[] mSymbols = new String[INITIAL_CAPACITY];
+    private int mCount = 0;
+
+    public String intern(final char[] source, final int start, final int end) {
+        var hash = 0;
+
+        for (var i = start; i < end; ++i) {
+            hash = 31 * hash + source[i];
+        }
+
+        final var length = end - start;
+        final var mask = mSymbols.length - 1;
+
+        var index = spread(hash) & mask;
+
+        for (var symbol = mSymbols[index]; symbol != null; symbol = mSymbols[index]) {
+            if (symbol.hashCode() == hash && matches(symbol, source, start, length)) {
+                return symbol;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        // Shared with the runtime's own constants, such as "init" and "this"
+        final var symbol = new String(source, start, length).intern();
+
+        mSymbols[index] = symbol;
+
+        if (++mCount * 2 > mSymbols.length) {
+            grow();
+        }
+
+        return symbol;
+    }
+
+    private static boolean matches(final String symbol, final char[] source, final int start, final int length) {
+        if (symbol.length() != length) {
+            return false;
+        }
+
+        for (var i = 0; i < length; ++i) {
+            if (symbol.charAt(i) != source[start + i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void grow() {
+        final var symbols = mSymbols;
+
+        mSymbols = new String[symbols.length * 2];
+
+        final var mask = mSymbols.length - 1;
+
+        for (final var symbol : symbols) {
+            if (symbol == null) {
+                continue;
+            }
+
+            var index = spread(symbol.hashCode()) & mask;
+
+            while (mSymbols[index] != null) {
+                index = (index + 1) & mask;
+            }
+
+            mSymbols[index] = symbol;
+        }
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
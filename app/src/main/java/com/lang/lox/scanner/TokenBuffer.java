@@ -0,0 +1,107 @@
+package com.lang.lox.scanner;
+
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.scanner.token.TokenType;
+
+import java.util.Arrays;
+
+// Scanned tokens laid out as parallel arrays instead of as objects: each is its kind, where its text starts in the
+// scanner's buffer, how long that text is and the line it ends on. A Token is only built for the ones asked for,
+// and is then kept alongside so it is built once. Held as a ring, oldest first
+final class TokenBuffer {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final TokenType[] TYPES = TokenType.values();
+
+    private byte[] mTypes = new byte[INITIAL_CAPACITY];
+    private int[] mStarts = new int[INITIAL_CAPACITY];
+    private int[] mLengths = new int[INITIAL_CAPACITY];
+    private int[] mLines = new int[INITIAL_CAPACITY];
+    private Token[] mTokens = new Token[INITIAL_CAPACITY];
+
+    private int mFirst = 0;
+    private int mSize = 0;
+
+    int size() {
+        return mSize;
+    }
+
+    void add(final TokenType type, final int start, final int length, final int line) {
+        if (mSize == mTypes.length) {
+            grow();
+        }
+
+        final var slot = slot(mSize++);
+
+        mTypes[slot] = (byte) type.ordinal();
+        mStarts[slot] = start;
+        mLengths[slot] = length;
+        mLines[slot] = line;
+    }
+
+    void removeFirst() {
+        mTokens[mFirst] = null;
+        mFirst = slot(1);
+        --mSize;
+    }
+
+    TokenType type(final int index) {
+        return TYPES[mTypes[slot(index)]];
+    }
+
+    int start(final int index) {
+        return mStarts[slot(index)];
+    }
+
+    int length(final int index) {
+        return mLengths[slot(index)];
+    }
+
+    int line(final int index) {
+        return mLines[slot(index)];
+    }
+
+    // The token built for this entry so far, if any
+    Token token(final int index) {
+        return mTokens[slot(index)];
+    }
+
+    void setToken(final int index, final Token token) {
+        mTokens[slot(index)] = token;
+    }
+
+    // The scanner's buffer has dropped this many characters from its front
+    void shift(final int distance) {
+        for (var i = 0; i < mSize; ++i) {
+            mStarts[slot(i)] -= distance;
+        }
+    }
+
+    private int slot(final int index) {
+        return (mFirst + index) & (mTypes.length - 1);
+    }
+
+    private void grow() {
+        final var capacity = mTypes.length * 2;
+
+        // Unrolled so the oldest entry lands at the front again
+        mTypes = unroll(Arrays.copyOf(mTypes, capacity));
+        mStarts = unroll(Arrays.copyOf(mStarts, capacity));
+        mLengths = unroll(Arrays.copyOf(mLengths, capacity));
+        mLines = unroll(Arrays.copyOf(mLines, capacity));
+        mTokens = unroll(Arrays.copyOf(mTokens, capacity));
+
+        mFirst = 0;
+    }
+
+    // Moves the entries that wrapped around to the start of the ring after the ones that didn't
+    private <T> T unroll(final T grown) {
+        final var wrapped = mFirst;
+        final var count = mSize;
+
+        System.arraycopy(grown, 0, grown, count, wrapped);
+        System.arraycopy(grown, wrapped, grown, 0, count);
+
+        return grown;
+    }
+}
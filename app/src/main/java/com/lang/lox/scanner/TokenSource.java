@@ -0,0 +1,17 @@
+package com.lang.lox.scanner;
+
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.scanner.token.TokenType;
+
+// The tokens ahead of a reader, counted from the current one, which are produced as they are asked for. A token's
+// kind can be looked at without the token itself being built. Once the input runs out every further token is EOF
+public interface TokenSource {
+    TokenType type(int distance);
+
+    Token token(int distance);
+
+    // Moves past the current token, which then stays available as the previous one
+    void advance();
+
+    Token previous();
+}
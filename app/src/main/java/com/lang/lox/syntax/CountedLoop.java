@@ -0,0 +1,22 @@
+package com.lang.lox.syntax;
+
+import com.lang.lox.scanner.token.Token;
+
+// A desugared "for" loop whose counter is only ever changed by a constant step in its incrementer, as found by the
+// resolver. Engines keep such a counter as a primitive and store it to its slot only when something reads it
+public final class CountedLoop {
+    public final int slot;
+    public final Token operator;
+    public final Expr limit;
+    public final double step;
+    public final boolean isCounterRead;
+
+    public CountedLoop(final int slot, final Token operator, final Expr limit, final double step,
+                       final boolean isCounterRead) {
+        this.slot = slot;
+        this.operator = operator;
+        this.limit = limit;
+        this.step = step;
+        this.isCounterRead = isCounterRead;
+    }
+}
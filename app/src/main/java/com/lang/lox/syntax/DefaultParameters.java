@@ -0,0 +1,55 @@
+package com.lang.lox.syntax;
+
+import java.util.List;
+
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.utils.Pair;
+
+// A function's parameter defaults, built once per declaration. Literal defaults are kept as values, the rest as the
+// expressions to evaluate in the function's closure whenever a call leaves them out
+public final class DefaultParameters {
+    private final Token[] mNames;
+    private final Expr[] mExpressions;
+    private final Object[] mValues;
+
+    public DefaultParameters(final List<Pair<Token, Expr>> params) {
+        final var count = params.size();
+
+        mNames = new Token[count];
+        mExpressions = new Expr[count];
+        mValues = new Object[count];
+
+        for (var i = 0; i < count; ++i) {
+            final var param = params.get(i);
+            final var defaultValue = param.second;
+
+            mNames[i] = param.first;
+
+            if (defaultValue instanceof Expr.Literal) {
+                mValues[i] = ((Expr.Literal) defaultValue).value;
+            }
+
+            if (mValues[i] == null) {
+                mExpressions[i] = defaultValue;
+            }
+        }
+    }
+
+    public int count() {
+        return mNames.length;
+    }
+
+    public Token name(final int index) {
+        return mNames[index];
+    }
+
+    // Null when the default isn't a literal
+    public Object value(final int index) {
+        return mValues[index];
+    }
+
+    // Null when the parameter has no default, or has a literal one
+    public Expr expression(final int index) {
+        return mExpressions[index];
+    }
+}
@@ -45,7 +45,18 @@ public abstract class Expr {
 
 	public abstract <R> R accept(Visitor<R> visitor);
 
-	public static final class Assign extends Expr {
+	public static final int UNRESOLVED = -1;
+
+	public abstract static class LocalReference extends Expr {
+		public int depth = UNRESOLVED;
+		public int slot = UNRESOLVED;
+
+		public boolean isLocal() {
+			return depth != UNRESOLVED;
+		}
+	}
+
+	public static final class Assign extends LocalReference {
 		public Token name;
 		public Expr value;
 
@@ -115,6 +126,7 @@ public abstract class Expr {
 		public Expr callee;
 		public Token paren;
 		public List<Expr> arguments;
+		public boolean isTailCall = false;
 
 		public Call(Expr callee, Token paren, List<Expr> arguments) {
 			this.callee = callee;
@@ -131,6 +143,9 @@ public abstract class Expr {
 	public static final class Get extends Expr {
 		public Expr object;
 		public Token name;
+		public boolean accessOccursWithinClass = false;
+		public MemberAccess access = MemberAccess.UNRESOLVED;
+		public final PropertyCache cache = new PropertyCache();
 
 		public Get(Expr object, Token name) {
 			this.object = object;
@@ -147,6 +162,9 @@ public abstract class Expr {
 		public Expr object;
 		public Token name;
 		public Expr value;
+		public boolean accessOccursWithinClass = false;
+		public MemberAccess access = MemberAccess.UNRESOLVED;
+		public final PropertyCache cache = new PropertyCache();
 
 		public Set(Expr object, Token name, Expr value) {
 			this.object = object;
@@ -160,7 +178,7 @@ public abstract class Expr {
 		}
 	}
 
-	public static final class This extends Expr {
+	public static final class This extends LocalReference {
 		public final Token keyword;
 
 		public This(Token keyword) {
@@ -261,7 +279,7 @@ public abstract class Expr {
 		}
 	}
 
-	public static final class Variable extends Expr {
+	public static final class Variable extends LocalReference {
 		public Token name;
 
 		public Variable(Token name) {
@@ -279,6 +297,7 @@ public abstract class Expr {
 		public List<Token> params;
 		public List<Stmt> body;
 		public boolean assignedToVar = false;
+		public int frameSize = 0;
 
 		public Lambda(Token name, List<Token> params, List<Stmt> body) {
 			this.name = name;
@@ -0,0 +1,32 @@
+package com.lang.lox.syntax;
+
+import com.lang.lox.utils.NameVisibility;
+
+// Every visibility a member name has been declared with, shared by all accesses to that name
+public final class MemberAccess {
+    public static final MemberAccess UNRESOLVED = new MemberAccess(true, true);
+
+    private boolean mIsDeclaredPrivate;
+    private boolean mIsDeclaredProtected;
+
+    public MemberAccess() {
+        this(false, false);
+    }
+
+    private MemberAccess(final boolean isDeclaredPrivate, final boolean isDeclaredProtected) {
+        mIsDeclaredPrivate = isDeclaredPrivate;
+        mIsDeclaredProtected = isDeclaredProtected;
+    }
+
+    public void declare(final NameVisibility visibility) {
+        if (visibility == NameVisibility.PRIVATE) {
+            mIsDeclaredPrivate = true;
+        } else if (visibility == NameVisibility.PROTECTED) {
+            mIsDeclaredProtected = true;
+        }
+    }
+
+    public boolean requiresCheck(final boolean accessOccursWithinClass) {
+        return mIsDeclaredProtected || (mIsDeclaredPrivate && !accessOccursWithinClass);
+    }
+}
@@ -0,0 +1,62 @@
+package com.lang.lox.syntax;
+
+public final class PropertyCache {
+    private static final int MAX_ENTRIES = 4;
+
+    private static final class Entry {
+        final Object owner;
+        final boolean accessOccursWithinClass;
+        final int fieldIndex;
+        final Object method;
+
+        Entry(final Object owner, final boolean accessOccursWithinClass, final int fieldIndex,
+              final Object method) {
+            this.owner = owner;
+            this.accessOccursWithinClass = accessOccursWithinClass;
+            this.fieldIndex = fieldIndex;
+            this.method = method;
+        }
+    }
+
+    private Entry[] mEntries = null;
+    private int mCount = 0;
+
+    public int find(final Object owner, final boolean accessOccursWithinClass) {
+        for (var i = 0; i < mCount; ++i) {
+            final var entry = mEntries[i];
+
+            if (entry.owner == owner && entry.accessOccursWithinClass == accessOccursWithinClass) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    public int fieldIndex(final int entry) {
+        return mEntries[entry].fieldIndex;
+    }
+
+    public Object method(final int entry) {
+        return mEntries[entry].method;
+    }
+
+    public void addField(final Object owner, final boolean accessOccursWithinClass, final int fieldIndex) {
+        add(new Entry(owner, accessOccursWithinClass, fieldIndex, null));
+    }
+
+    public void addMethod(final Object owner, final boolean accessOccursWithinClass, final Object method) {
+        add(new Entry(owner, accessOccursWithinClass, -1, method));
+    }
+
+    // Once a site has seen more receivers than it can hold it stays on the uncached lookup
+    private void add(final Entry entry) {
+        if (mEntries == null) {
+            mEntries = new Entry[MAX_ENTRIES];
+        }
+
+        if (mCount < MAX_ENTRIES) {
+            mEntries[mCount++] = entry;
+        }
+    }
+}
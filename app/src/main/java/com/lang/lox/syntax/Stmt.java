@@ -70,6 +70,8 @@ public abstract class Stmt {
         public List<Pair<Token, Expr>> params;
         public List<Stmt> body;
         public boolean hasDefaultParameters = false;
+        public DefaultParameters defaults = null;
+        public int frameSize = 0;
 
         public Function(Token name, List<Pair<Token, Expr>> params, List<Stmt> body,
                         NameVisibility visibility) {
@@ -87,6 +89,7 @@ public abstract class Stmt {
 
     public static final class Block extends Stmt {
         public List<Stmt> statements;
+        public int frameSize = 0;
 
         public Block(List<Stmt> statements) {
             this.statements = statements;
@@ -192,6 +195,7 @@ public abstract class Stmt {
         public Expr condition;
         public Stmt body;
         public Optional<Expression> incrementer;
+        public CountedLoop countedLoop = null;
 
         public While(Expr condition, Stmt body, Optional<Expression> incrementer) {
             this.condition = condition;
@@ -0,0 +1,87 @@
+package com.lang.lox.vm;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+final class Chunk {
+	byte[] code = new byte[16];
+	int count = 0;
+
+	Object[] constants = new Object[8];
+	int constantCount = 0;
+
+	// Run-length encoded line table: lines[i] is the source line of every byte
+	// from lineStarts[i] up to the next entry
+	private int[] mLineStarts = new int[4];
+	private int[] mLines = new int[4];
+	private int mLineCount = 0;
+
+	private final Map<Object, Integer> mConstantIndices = new HashMap<>();
+
+	void write(final int value, final int line) {
+		if (count == code.length) {
+			code = Arrays.copyOf(code, count * 2);
+		}
+
+		code[count] = (byte) value;
+
+		if (mLineCount == 0 || mLines[mLineCount - 1] != line) {
+			addLine(count, line);
+		}
+
+		++count;
+	}
+
+	private void addLine(final int offset, final int line) {
+		if (mLineCount == mLines.length) {
+			mLineStarts = Arrays.copyOf(mLineStarts, mLineCount * 2);
+			mLines = Arrays.copyOf(mLines, mLineCount * 2);
+		}
+
+		mLineStarts[mLineCount] = offset;
+		mLines[mLineCount] = line;
+		++mLineCount;
+	}
+
+	int addConstant(final Object value) {
+		final var canBeShared = value instanceof String || value instanceof Double;
+
+		if (canBeShared) {
+			final var index = mConstantIndices.get(value);
+
+			if (index != null) {
+				return index;
+			}
+		}
+
+		if (constantCount == constants.length) {
+			constants = Arrays.copyOf(constants, constantCount * 2);
+		}
+
+		constants[constantCount] = value;
+
+		if (canBeShared) {
+			mConstantIndices.put(value, constantCount);
+		}
+
+		return constantCount++;
+	}
+
+	int lineAt(final int offset) {
+		var low = 0;
+		var high = mLineCount - 1;
+
+		while (low < high) {
+			final var middle = (low + high + 1) >>> 1;
+
+			if (mLineStarts[middle] <= offset) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+
+		return mLineCount == 0 ? 0 : mLines[low];
+	}
+}
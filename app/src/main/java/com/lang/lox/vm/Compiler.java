@@ -0,0 +1,1018 @@
+package com.lang.lox.vm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.lang.lox.error.LoxErrorHandler;
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.scanner.token.TokenType;
+import com.lang.lox.syntax.Expr;
+import com.lang.lox.syntax.Stmt;
+
+final class Compiler implements Expr.Visitor<Void>, Stmt.Visitor<Void> {
+	private static final int MAX_LOCALS = 256;
+	private static final int MAX_UPVALUES = 256;
+	private static final int MAX_OPERAND = 0xffff;
+
+	private static final class Local {
+		String name;
+		int depth;
+		boolean isCaptured = false;
+
+		private Local(final String name, final int depth) {
+			this.name = name;
+			this.depth = depth;
+		}
+	}
+
+	private static final class Upvalue {
+		final int index;
+		final boolean isLocal;
+
+		private Upvalue(final int index, final boolean isLocal) {
+			this.index = index;
+			this.isLocal = isLocal;
+		}
+	}
+
+	private static final class Loop {
+		final Loop enclosing;
+		final int scopeDepth;
+		final List<Integer> breakJumps = new ArrayList<>();
+		final List<Integer> continueJumps = new ArrayList<>();
+
+		private Loop(final Loop enclosing, final int scopeDepth) {
+			this.enclosing = enclosing;
+			this.scopeDepth = scopeDepth;
+		}
+	}
+
+	private static final class FunctionState {
+		final FunctionState enclosing;
+		final VmFunction function;
+		final List<Local> locals = new ArrayList<>();
+		final List<Upvalue> upvalues = new ArrayList<>();
+		int scopeDepth = 0;
+		Loop loop = null;
+
+		private FunctionState(final FunctionState enclosing, final VmFunction function) {
+			this.enclosing = enclosing;
+			this.function = function;
+		}
+	}
+
+	private final Globals mGlobals;
+	private final LoxErrorHandler mErrorHandler;
+	private final boolean mPrintExpressionStatements;
+	private FunctionState mCurrent = null;
+	private int mLine = 1;
+
+	Compiler(final Globals globals, final LoxErrorHandler errorHandler, final boolean printExpressionStatements) {
+		mGlobals = globals;
+		mErrorHandler = errorHandler;
+		mPrintExpressionStatements = printExpressionStatements;
+	}
+
+	VmFunction compile(final List<Stmt> statements) {
+		mCurrent = new FunctionState(null, new VmFunction(VmFunction.Kind.SCRIPT, "script", false));
+		mCurrent.locals.add(new Local("", 0));
+
+		statements.forEach(this::compile);
+
+		emitByte(OpCode.NIL);
+		emitByte(OpCode.RETURN);
+
+		return mCurrent.function;
+	}
+
+	private void compile(final Stmt stmt) {
+		stmt.accept(this);
+	}
+
+	private void compile(final Expr expr) {
+		expr.accept(this);
+	}
+
+	private Chunk currentChunk() {
+		return mCurrent.function.chunk;
+	}
+
+	private void emitByte(final int value) {
+		currentChunk().write(value, mLine);
+	}
+
+	private void emitBytes(final int first, final int second) {
+		emitByte(first);
+		emitByte(second);
+	}
+
+	private void emitShort(final int value) {
+		emitByte((value >> 8) & 0xff);
+		emitByte(value & 0xff);
+	}
+
+	private void emitConstant(final Object value) {
+		emitByte(OpCode.CONSTANT);
+		emitShort(makeConstant(value));
+	}
+
+	private int makeConstant(final Object value) {
+		final var index = currentChunk().addConstant(value);
+
+		if (index > MAX_OPERAND) {
+			mErrorHandler.error(mLine, "Too many constants in one chunk.");
+			return 0;
+		}
+
+		return index;
+	}
+
+	private int emitJump(final int instruction) {
+		emitByte(instruction);
+		emitShort(MAX_OPERAND);
+		return currentChunk().count - 2;
+	}
+
+	private void patchJump(final int offset) {
+		final var jump = currentChunk().count - offset - 2;
+
+		if (jump > MAX_OPERAND) {
+			mErrorHandler.error(mLine, "Too much code to jump over.");
+		}
+
+		currentChunk().code[offset] = (byte) ((jump >> 8) & 0xff);
+		currentChunk().code[offset + 1] = (byte) (jump & 0xff);
+	}
+
+	private void emitLoop(final int loopStart) {
+		emitByte(OpCode.LOOP);
+
+		final var offset = currentChunk().count - loopStart + 2;
+
+		if (offset > MAX_OPERAND) {
+			mErrorHandler.error(mLine, "Loop body too large.");
+		}
+
+		emitShort(offset);
+	}
+
+	private void beginScope() {
+		++mCurrent.scopeDepth;
+	}
+
+	private void endScope() {
+		--mCurrent.scopeDepth;
+
+		final var locals = mCurrent.locals;
+
+		while (!locals.isEmpty() && locals.get(locals.size() - 1).depth > mCurrent.scopeDepth) {
+			emitByte(locals.remove(locals.size() - 1).isCaptured ? OpCode.CLOSE_UPVALUE : OpCode.POP);
+		}
+	}
+
+	private void discardLocalsDeeperThan(final int scopeDepth) {
+		final var locals = mCurrent.locals;
+
+		for (var i = locals.size() - 1; i >= 0 && locals.get(i).depth > scopeDepth; --i) {
+			emitByte(locals.get(i).isCaptured ? OpCode.CLOSE_UPVALUE : OpCode.POP);
+		}
+	}
+
+	private boolean isGlobalScope() {
+		return mCurrent.enclosing == null && mCurrent.scopeDepth == 0;
+	}
+
+	private void addLocal(final Token name) {
+		if (mCurrent.locals.size() == MAX_LOCALS) {
+			mErrorHandler.error(name, "Too many local variables in function.");
+			return;
+		}
+
+		mCurrent.locals.add(new Local(name.lexeme, -1));
+	}
+
+	private void markInitialized() {
+		if (mCurrent.scopeDepth == 0) {
+			return;
+		}
+
+		mCurrent.locals.get(mCurrent.locals.size() - 1).depth = mCurrent.scopeDepth;
+	}
+
+	private void defineVariable(final Token name) {
+		if (isGlobalScope()) {
+			emitByte(OpCode.DEFINE_GLOBAL);
+			emitShort(mGlobals.indexOf(name.lexeme));
+		} else {
+			markInitialized();
+		}
+	}
+
+	private static int resolveLocal(final FunctionState state, final String name) {
+		final var locals = state.locals;
+
+		for (var i = locals.size() - 1; i >= 0; --i) {
+			if (locals.get(i).name.equals(name)) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	private int resolveUpvalue(final FunctionState state, final Token name) {
+		if (state.enclosing == null) {
+			return -1;
+		}
+
+		final var local = resolveLocal(state.enclosing, name.lexeme);
+
+		if (local != -1) {
+			state.enclosing.locals.get(local).isCaptured = true;
+			return addUpvalue(state, local, true, name);
+		}
+
+		final var upvalue = resolveUpvalue(state.enclosing, name);
+
+		if (upvalue != -1) {
+			return addUpvalue(state, upvalue, false, name);
+		}
+
+		return -1;
+	}
+
+	private int addUpvalue(final FunctionState state, final int index, final boolean isLocal, final Token name) {
+		final var upvalues = state.upvalues;
+
+		for (var i = 0; i < upvalues.size(); ++i) {
+			final var upvalue = upvalues.get(i);
+
+			if (upvalue.index == index && upvalue.isLocal == isLocal) {
+				return i;
+			}
+		}
+
+		if (upvalues.size() == MAX_UPVALUES) {
+			mErrorHandler.error(name, "Too many closure variables in function.");
+			return 0;
+		}
+
+		upvalues.add(new Upvalue(index, isLocal));
+		state.function.upvalueCount = upvalues.size();
+
+		return upvalues.size() - 1;
+	}
+
+	private void getVariable(final Token name) {
+		mLine = name.line;
+
+		final var local = resolveLocal(mCurrent, name.lexeme);
+
+		if (local != -1) {
+			emitBytes(OpCode.GET_LOCAL, local);
+			return;
+		}
+
+		final var upvalue = resolveUpvalue(mCurrent, name);
+
+		if (upvalue != -1) {
+			emitBytes(OpCode.GET_UPVALUE, upvalue);
+			return;
+		}
+
+		emitByte(OpCode.GET_GLOBAL);
+		emitShort(mGlobals.indexOf(name.lexeme));
+	}
+
+	private void setVariable(final Token name) {
+		mLine = name.line;
+
+		final var local = resolveLocal(mCurrent, name.lexeme);
+
+		if (local != -1) {
+			emitBytes(OpCode.SET_LOCAL, local);
+			return;
+		}
+
+		final var upvalue = resolveUpvalue(mCurrent, name);
+
+		if (upvalue != -1) {
+			emitBytes(OpCode.SET_UPVALUE, upvalue);
+			return;
+		}
+
+		emitByte(OpCode.SET_GLOBAL);
+		emitShort(mGlobals.indexOf(name.lexeme));
+	}
+
+	private void getThis(final Token keyword) {
+		getVariable(new Token(TokenType.THIS, "this", null, keyword.line));
+	}
+
+	private void function(final Token name, final VmFunction.Kind kind, final boolean isNamed,
+			final List<Token> params, final List<Expr> defaults, final List<Stmt> body,
+			final List<Stmt.Let> fields) {
+		final var function = new VmFunction(kind, name.lexeme, isNamed);
+		final var state = new FunctionState(mCurrent, function);
+
+		mCurrent = state;
+		beginScope();
+
+		final var hasReceiver = kind == VmFunction.Kind.METHOD || kind == VmFunction.Kind.STATIC_METHOD
+				|| kind == VmFunction.Kind.INITIALIZER;
+		state.locals.add(new Local(hasReceiver ? "this" : "", state.scopeDepth));
+
+		// Parameters are anonymous while the prologue runs so that defaults and field
+		// initializers only see the enclosing scopes, like the tree-walking interpreter
+		params.forEach(param -> {
+			addLocal(param);
+			markInitialized();
+			state.locals.get(state.locals.size() - 1).name = "";
+		});
+
+		function.arity = params.size();
+		function.defaults = new boolean[params.size()];
+
+		if (defaults != null) {
+			compileDefaults(function, params, defaults);
+		}
+
+		if (fields != null) {
+			compileFieldInitializers(fields);
+		}
+
+		for (var i = 0; i < params.size(); ++i) {
+			state.locals.get(i + 1).name = params.get(i).lexeme;
+		}
+
+		body.forEach(this::compile);
+
+		emitReturn();
+
+		mCurrent = state.enclosing;
+
+		emitByte(OpCode.CLOSURE);
+		emitShort(makeConstant(function));
+
+		state.upvalues.forEach(upvalue -> emitBytes(upvalue.isLocal ? 1 : 0, upvalue.index));
+	}
+
+	private void compileDefaults(final VmFunction function, final List<Token> params, final List<Expr> defaults) {
+		function.hasDefaultParameters = !defaults.isEmpty() && defaults.get(0) != null;
+
+		if (!function.hasDefaultParameters) {
+			return;
+		}
+
+		for (var i = 0; i < params.size(); ++i) {
+			final var defaultValue = defaults.get(i);
+
+			if (defaultValue == null) {
+				continue;
+			}
+
+			function.defaults[i] = true;
+
+			final var param = params.get(i);
+			final var slot = i + 1;
+
+			mLine = param.line;
+			emitBytes(OpCode.DEFAULT_ARG, slot);
+			final var skipDefault = currentChunk().count;
+			emitShort(MAX_OPERAND);
+
+			compile(defaultValue);
+
+			mLine = param.line;
+			emitByte(OpCode.DEFAULT_VALUE);
+			emitShort(makeConstant(param));
+			emitBytes(OpCode.SET_LOCAL, slot);
+			emitByte(OpCode.POP);
+
+			patchJump(skipDefault);
+		}
+	}
+
+	private void compileFieldInitializers(final List<Stmt.Let> fields) {
+		fields.forEach(field -> {
+			if (field.initializer != null) {
+				compile(field.initializer);
+			} else {
+				emitByte(OpCode.NIL);
+			}
+
+			mLine = field.name.line;
+			emitByte(OpCode.INIT_FIELD);
+			emitShort(makeConstant(field.name.lexeme));
+			emitByte(field.visibility.ordinal());
+		});
+	}
+
+	private void emitReturn() {
+		if (mCurrent.function.kind == VmFunction.Kind.INITIALIZER) {
+			emitBytes(OpCode.GET_LOCAL, 0);
+		} else {
+			emitByte(OpCode.NIL);
+		}
+
+		emitByte(OpCode.RETURN);
+	}
+
+	private void functionDeclaration(final Stmt.Function stmt, final VmFunction.Kind kind,
+			final List<Stmt.Let> fields) {
+		final var params = new ArrayList<Token>();
+		final var defaults = new ArrayList<Expr>();
+
+		stmt.params.forEach(param -> {
+			params.add(param.first);
+			defaults.add(param.second);
+		});
+
+		function(stmt.name, kind, true, params, defaults, stmt.body, fields);
+	}
+
+	@Override
+	public Void visitExpressionStmt(Stmt.Expression stmt) {
+		compile(stmt.expression);
+		emitByte(mPrintExpressionStatements ? OpCode.PRINT_EXPR : OpCode.POP);
+		return null;
+	}
+
+	@Override
+	public Void visitIfStmt(Stmt.If stmt) {
+		compile(stmt.condition);
+
+		final var thenJump = emitJump(OpCode.JUMP_IF_FALSE);
+		emitByte(OpCode.POP);
+		compile(stmt.thenBranch);
+
+		final var elseJump = emitJump(OpCode.JUMP);
+		patchJump(thenJump);
+		emitByte(OpCode.POP);
+
+		if (stmt.elseBranch != null) {
+			compile(stmt.elseBranch);
+		}
+
+		patchJump(elseJump);
+
+		return null;
+	}
+
+	@Override
+	public Void visitFunctionStmt(Stmt.Function stmt) {
+		if (!isGlobalScope()) {
+			addLocal(stmt.name);
+			markInitialized();
+		}
+
+		functionDeclaration(stmt, VmFunction.Kind.FUNCTION, null);
+
+		defineVariable(stmt.name);
+
+		return null;
+	}
+
+	@Override
+	public Void visitBlockStmt(Stmt.Block stmt) {
+		beginScope();
+		stmt.statements.forEach(this::compile);
+		endScope();
+		return null;
+	}
+
+	@Override
+	public Void visitClassStmt(Stmt.Class stmt) {
+		final var className = stmt.name;
+		final var isGlobal = isGlobalScope();
+
+		mLine = className.line;
+
+		if (!isGlobal) {
+			addLocal(className);
+		}
+
+		emitByte(OpCode.CLASS);
+		emitShort(makeConstant(className));
+
+		if (!isGlobal) {
+			markInitialized();
+		}
+
+		if (stmt.superclass != null) {
+			getVariable(stmt.superclass.name);
+			emitByte(OpCode.INHERIT);
+		}
+
+		stmt.classFields.forEach(field -> {
+			if (field.initializer != null) {
+				compile(field.initializer);
+			} else {
+				emitByte(OpCode.NIL);
+			}
+
+			mLine = field.name.line;
+			emitByte(OpCode.STATIC_FIELD);
+			emitShort(makeConstant(field.name.lexeme));
+			emitByte(field.visibility.ordinal());
+		});
+
+		stmt.classMethods.forEach(method -> {
+			functionDeclaration(method, VmFunction.Kind.STATIC_METHOD, null);
+			emitByte(OpCode.STATIC_METHOD);
+			emitShort(makeConstant(method.name.lexeme));
+			emitByte(method.visibility.ordinal());
+		});
+
+		final var constructorName = "init";
+		Stmt.Function constructor = null;
+
+		for (final var method : stmt.methods) {
+			if (method.name.lexeme.equals(constructorName)) {
+				constructor = method;
+				continue;
+			}
+
+			functionDeclaration(method, VmFunction.Kind.METHOD, null);
+			emitByte(OpCode.METHOD);
+			emitShort(makeConstant(method.name.lexeme));
+			emitByte(method.visibility.ordinal());
+		}
+
+		if (constructor != null) {
+			functionDeclaration(constructor, VmFunction.Kind.INITIALIZER, stmt.fields);
+			emitByte(OpCode.INITIALIZER);
+		} else if (!stmt.fields.isEmpty()) {
+			function(new Token(className.type, constructorName, null, className.line),
+					VmFunction.Kind.INITIALIZER, true, List.of(), null, List.of(), stmt.fields);
+			emitByte(OpCode.INITIALIZER);
+		}
+
+		if (isGlobal) {
+			defineVariable(className);
+		}
+
+		return null;
+	}
+
+	@Override
+	public Void visitBreakStmt(Stmt.Break stmt) {
+		final var loop = mCurrent.loop;
+
+		if (loop != null) {
+			discardLocalsDeeperThan(loop.scopeDepth);
+			loop.breakJumps.add(emitJump(OpCode.JUMP));
+		}
+
+		return null;
+	}
+
+	@Override
+	public Void visitContinueStmt(Stmt.Continue stmt) {
+		final var loop = mCurrent.loop;
+
+		if (loop != null) {
+			discardLocalsDeeperThan(loop.scopeDepth);
+			loop.continueJumps.add(emitJump(OpCode.JUMP));
+		}
+
+		return null;
+	}
+
+	@Override
+	public Void visitReturnStmt(Stmt.Return stmt) {
+		mLine = stmt.keyword.line;
+
+		if (stmt.value == null || mCurrent.function.kind == VmFunction.Kind.INITIALIZER) {
+			emitReturn();
+			return null;
+		}
+
+		if (stmt.value instanceof Expr.Call) {
+			// Lets the callee take over this function's frame, so tail recursion doesn't grow the VM's stack
+			call((Expr.Call) stmt.value, true);
+		} else {
+			compile(stmt.value);
+		}
+
+		emitByte(OpCode.RETURN);
+
+		return null;
+	}
+
+	@Override
+	public Void visitAssertStmt(Stmt.Assert stmt) {
+		compile(stmt.expression);
+
+		mLine = stmt.message.line;
+		emitByte(OpCode.ASSERT);
+		emitShort(makeConstant(stmt.message));
+
+		return null;
+	}
+
+	@Override
+	public Void visitLetStmt(Stmt.Let stmt) {
+		final var isGlobal = isGlobalScope();
+
+		if (!isGlobal) {
+			addLocal(stmt.name);
+		}
+
+		if (stmt.initializer != null) {
+			compile(stmt.initializer);
+		} else {
+			emitByte(OpCode.NIL);
+		}
+
+		mLine = stmt.name.line;
+		defineVariable(stmt.name);
+
+		return null;
+	}
+
+	@Override
+	public Void visitWhileStmt(Stmt.While stmt) {
+		final var loopStart = currentChunk().count;
+
+		compile(stmt.condition);
+
+		final var exitJump = emitJump(OpCode.JUMP_IF_FALSE);
+		emitByte(OpCode.POP);
+
+		final var loop = new Loop(mCurrent.loop, mCurrent.scopeDepth);
+		mCurrent.loop = loop;
+
+		final var incrementer = stmt.incrementer != null ? stmt.incrementer.orElse(null) : null;
+		final var isDesugaredFor = incrementer != null && stmt.body instanceof Stmt.Block
+				&& isLastStatement((Stmt.Block) stmt.body, incrementer);
+
+		if (isDesugaredFor) {
+			final var statements = ((Stmt.Block) stmt.body).statements;
+
+			// The incrementer is hoisted out of the body so that "continue" can reach it
+			beginScope();
+			statements.subList(0, statements.size() - 1).forEach(this::compile);
+			endScope();
+		} else {
+			compile(stmt.body);
+		}
+
+		mCurrent.loop = loop.enclosing;
+
+		loop.continueJumps.forEach(this::patchJump);
+
+		if (isDesugaredFor) {
+			compile(incrementer);
+		}
+
+		emitLoop(loopStart);
+
+		patchJump(exitJump);
+		emitByte(OpCode.POP);
+
+		loop.breakJumps.forEach(this::patchJump);
+
+		return null;
+	}
+
+	private static boolean isLastStatement(final Stmt.Block block, final Stmt stmt) {
+		final var statements = block.statements;
+		return !statements.isEmpty() && statements.get(statements.size() - 1) == stmt;
+	}
+
+	@Override
+	public Void visitAssignExpr(Expr.Assign expr) {
+		compile(expr.value);
+		setVariable(expr.name);
+		return null;
+	}
+
+	@Override
+	public Void visitConditionalExpr(Expr.Conditional expr) {
+		compile(expr.condition);
+
+		final var thenJump = emitJump(OpCode.JUMP_IF_FALSE);
+		emitByte(OpCode.POP);
+		compile(expr.thenBranch);
+
+		final var elseJump = emitJump(OpCode.JUMP);
+		patchJump(thenJump);
+		emitByte(OpCode.POP);
+
+		if (expr.elseBranch != null) {
+			compile(expr.elseBranch);
+		} else {
+			emitByte(OpCode.NIL);
+		}
+
+		patchJump(elseJump);
+
+		return null;
+	}
+
+	@Override
+	public Void visitBinaryExpr(Expr.Binary expr) {
+		compile(expr.left);
+
+		if (expr.operator.type == TokenType.COMMA) {
+			emitByte(OpCode.POP);
+			compile(expr.right);
+			return null;
+		}
+
+		compile(expr.right);
+
+		mLine = expr.operator.line;
+
+		switch (expr.operator.type) {
+			case BANG_EQUAL:
+				emitByte(OpCode.NOT_EQUAL);
+				break;
+			case EQUAL_EQUAL:
+				emitByte(OpCode.EQUAL);
+				break;
+			case GREATER:
+				emitByte(OpCode.GREATER);
+				break;
+			case GREATER_EQUAL:
+				emitByte(OpCode.GREATER_EQUAL);
+				break;
+			case LESS:
+				emitByte(OpCode.LESS);
+				break;
+			case LESS_EQUAL:
+				emitByte(OpCode.LESS_EQUAL);
+				break;
+			case PLUS:
+				emitByte(OpCode.ADD);
+				break;
+			case PLUS_PLUS:
+				emitByte(OpCode.CONCATENATE);
+				break;
+			case INSERTION:
+				emitByte(OpCode.INSERT);
+				break;
+			case MINUS:
+				emitByte(OpCode.SUBTRACT);
+				break;
+			case SLASH:
+				emitByte(OpCode.DIVIDE);
+				break;
+			case STAR:
+				emitByte(OpCode.MULTIPLY);
+				break;
+			case MOD:
+				emitByte(OpCode.MODULO);
+				break;
+			case EXPONENT:
+				emitByte(OpCode.EXPONENT);
+				break;
+			default:
+				emitByte(OpCode.POP);
+				emitByte(OpCode.POP);
+				emitByte(OpCode.NIL);
+				break;
+		}
+
+		return null;
+	}
+
+	@Override
+	public Void visitSubscriptExpr(Expr.Subscript expr) {
+		compile(expr.callee);
+		compile(expr.index);
+
+		mLine = expr.bracket.line;
+		emitByte(OpCode.SUBSCRIPT);
+
+		return null;
+	}
+
+	@Override
+	public Void visitCallExpr(Expr.Call expr) {
+		call(expr, false);
+		return null;
+	}
+
+	// Calls to the superclass's initializer always push a frame, as it runs with its own receiver
+	private void call(final Expr.Call expr, final boolean isTailCall) {
+		final var callee = expr.callee;
+		final var argCount = expr.arguments.size();
+
+		if (callee instanceof Expr.Super && ((Expr.Super) callee).memberName == null) {
+			getThis(((Expr.Super) callee).keyword);
+			expr.arguments.forEach(this::compile);
+
+			mLine = expr.paren.line;
+			emitBytes(OpCode.SUPER_CALL, argCount);
+			return;
+		}
+
+		if (callee instanceof Expr.Get) {
+			final var get = (Expr.Get) callee;
+
+			compile(get.object);
+			expr.arguments.forEach(this::compile);
+
+			mLine = expr.paren.line;
+
+			if (isTailCall) {
+				emitByte(get.accessOccursWithinClass ? OpCode.TAIL_INVOKE_THIS : OpCode.TAIL_INVOKE);
+			} else {
+				emitByte(get.accessOccursWithinClass ? OpCode.INVOKE_THIS : OpCode.INVOKE);
+			}
+
+			emitShort(makeConstant(get.name));
+			emitByte(argCount);
+			return;
+		}
+
+		compile(callee);
+		expr.arguments.forEach(this::compile);
+
+		mLine = expr.paren.line;
+		emitBytes(isTailCall ? OpCode.TAIL_CALL : OpCode.CALL, argCount);
+	}
+
+	@Override
+	public Void visitGetExpr(Expr.Get expr) {
+		compile(expr.object);
+
+		mLine = expr.name.line;
+		emitByte(expr.accessOccursWithinClass ? OpCode.GET_THIS_PROPERTY : OpCode.GET_PROPERTY);
+		emitShort(makeConstant(expr.name));
+
+		return null;
+	}
+
+	@Override
+	public Void visitSetExpr(Expr.Set expr) {
+		compile(expr.object);
+		compile(expr.value);
+
+		mLine = expr.name.line;
+		emitByte(expr.accessOccursWithinClass ? OpCode.SET_THIS_PROPERTY : OpCode.SET_PROPERTY);
+		emitShort(makeConstant(expr.name));
+
+		return null;
+	}
+
+	@Override
+	public Void visitThisExpr(Expr.This expr) {
+		getVariable(expr.keyword);
+		return null;
+	}
+
+	@Override
+	public Void visitSuperExpr(Expr.Super expr) {
+		getThis(expr.keyword);
+
+		if (expr.memberName != null) {
+			mLine = expr.memberName.line;
+			emitByte(OpCode.GET_SUPER);
+			emitShort(makeConstant(expr.memberName));
+		} else {
+			emitByte(OpCode.SUPER);
+		}
+
+		return null;
+	}
+
+	@Override
+	public Void visitGroupingExpr(Expr.Grouping expr) {
+		compile(expr.expression);
+		return null;
+	}
+
+	@Override
+	public Void visitUnaryExpr(Expr.Unary expr) {
+		compile(expr.right);
+
+		mLine = expr.operator.line;
+
+		switch (expr.operator.type) {
+			case BANG:
+				emitByte(OpCode.NOT);
+				break;
+			case MINUS:
+				emitByte(OpCode.NEGATE);
+				break;
+			case PLUS:
+				emitByte(OpCode.POSITIVE);
+				break;
+			default:
+				emitByte(OpCode.POP);
+				emitByte(OpCode.NIL);
+				break;
+		}
+
+		return null;
+	}
+
+	@Override
+	public Void visitLogicalExpr(Expr.Logical expr) {
+		compile(expr.left);
+
+		if (expr.operator.type == TokenType.OR) {
+			final var elseJump = emitJump(OpCode.JUMP_IF_FALSE);
+			final var endJump = emitJump(OpCode.JUMP);
+
+			patchJump(elseJump);
+			emitByte(OpCode.POP);
+			compile(expr.right);
+			patchJump(endJump);
+		} else {
+			final var endJump = emitJump(OpCode.JUMP_IF_FALSE);
+
+			emitByte(OpCode.POP);
+			compile(expr.right);
+			patchJump(endJump);
+		}
+
+		return null;
+	}
+
+	@Override
+	public Void visitLiteralExpr(Expr.Literal expr) {
+		final var value = expr.value;
+
+		if (value == null) {
+			emitByte(OpCode.NIL);
+		} else if (value instanceof Boolean) {
+			emitByte((boolean) value ? OpCode.TRUE : OpCode.FALSE);
+		} else {
+			emitConstant(value);
+		}
+
+		return null;
+	}
+
+	@Override
+	public Void visitArrayExpr(Expr.Array expr) {
+		final var values = expr.values;
+
+		values.forEach(this::compile);
+
+		if (values.size() > MAX_OPERAND) {
+			mErrorHandler.error(mLine, "Too many elements in array literal.");
+		}
+
+		emitByte(OpCode.ARRAY);
+		emitShort(values.size());
+
+		return null;
+	}
+
+	@Override
+	public Void visitVariableExpr(Expr.Variable expr) {
+		getVariable(expr.name);
+		return null;
+	}
+
+	@Override
+	public Void visitLambdaExpr(Expr.Lambda expr) {
+		function(expr.name, VmFunction.Kind.LAMBDA, expr.assignedToVar, expr.params, null, expr.body, null);
+		return null;
+	}
+
+	@Override
+	public Void visitPostfixExpr(Expr.Postfix expr) {
+		getVariable(expr.left.name);
+		emitByte(OpCode.DUP);
+
+		mLine = expr.operator.line;
+		emitIncrement(expr.operator);
+
+		setVariable(expr.left.name);
+		emitByte(OpCode.POP);
+
+		return null;
+	}
+
+	@Override
+	public Void visitPrefixExpr(Expr.Prefix expr) {
+		getVariable(expr.right.name);
+
+		mLine = expr.operator.line;
+		emitIncrement(expr.operator);
+
+		setVariable(expr.right.name);
+
+		return null;
+	}
+
+	private void emitIncrement(final Token operator) {
+		switch (operator.type) {
+			case PLUS_PLUS:
+				emitByte(OpCode.INCREMENT);
+				break;
+			case MINUS_MINUS:
+				emitByte(OpCode.DECREMENT);
+				break;
+			default:
+				mErrorHandler.error(operator, "Unknown operator");
+				break;
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.lang.lox.vm;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+final class Globals {
+	static final Object UNDEFINED = new Object();
+
+	private final Map<String, Integer> mIndices = new HashMap<>();
+	String[] names = new String[64];
+	Object[] values = new Object[64];
+	private int mCount = 0;
+
+	int indexOf(final String name) {
+		final var index = mIndices.get(name);
+
+		if (index != null) {
+			return index;
+		}
+
+		if (mCount == values.length) {
+			names = Arrays.copyOf(names, mCount * 2);
+			values = Arrays.copyOf(values, mCount * 2);
+		}
+
+		names[mCount] = name;
+		values[mCount] = UNDEFINED;
+		mIndices.put(name, mCount);
+
+		return mCount++;
+	}
+
+	void define(final String name, final Object value) {
+		values[indexOf(name)] = value;
+	}
+}
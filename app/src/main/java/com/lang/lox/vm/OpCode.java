@@ -0,0 +1,71 @@
+package com.lang.lox.vm;
+
+final class OpCode {
+	static final byte CONSTANT = 0;
+	static final byte NIL = 1;
+	static final byte TRUE = 2;
+	static final byte FALSE = 3;
+	static final byte POP = 4;
+	static final byte DUP = 5;
+	static final byte GET_LOCAL = 6;
+	static final byte SET_LOCAL = 7;
+	static final byte GET_GLOBAL = 8;
+	static final byte DEFINE_GLOBAL = 9;
+	static final byte SET_GLOBAL = 10;
+	static final byte GET_UPVALUE = 11;
+	static final byte SET_UPVALUE = 12;
+	static final byte GET_PROPERTY = 13;
+	static final byte GET_THIS_PROPERTY = 14;
+	static final byte SET_PROPERTY = 15;
+	static final byte SET_THIS_PROPERTY = 16;
+	static final byte GET_SUPER = 17;
+	static final byte SUPER = 18;
+	static final byte EQUAL = 19;
+	static final byte NOT_EQUAL = 20;
+	static final byte GREATER = 21;
+	static final byte GREATER_EQUAL = 22;
+	static final byte LESS = 23;
+	static final byte LESS_EQUAL = 24;
+	static final byte ADD = 25;
+	static final byte CONCATENATE = 26;
+	static final byte INSERT = 27;
+	static final byte SUBTRACT = 28;
+	static final byte MULTIPLY = 29;
+	static final byte DIVIDE = 30;
+	static final byte MODULO = 31;
+	static final byte EXPONENT = 32;
+	static final byte NOT = 33;
+	static final byte NEGATE = 34;
+	static final byte POSITIVE = 35;
+	static final byte INCREMENT = 36;
+	static final byte DECREMENT = 37;
+	static final byte SUBSCRIPT = 38;
+	static final byte ARRAY = 39;
+	static final byte JUMP = 40;
+	static final byte JUMP_IF_FALSE = 41;
+	static final byte LOOP = 42;
+	static final byte CALL = 43;
+	static final byte INVOKE = 44;
+	static final byte INVOKE_THIS = 45;
+	static final byte SUPER_CALL = 46;
+	static final byte CLOSURE = 47;
+	static final byte CLOSE_UPVALUE = 48;
+	static final byte RETURN = 49;
+	static final byte CLASS = 50;
+	static final byte INHERIT = 51;
+	static final byte METHOD = 52;
+	static final byte STATIC_METHOD = 53;
+	static final byte STATIC_FIELD = 54;
+	static final byte INITIALIZER = 55;
+	static final byte INIT_FIELD = 56;
+	static final byte DEFAULT_ARG = 57;
+	static final byte DEFAULT_VALUE = 58;
+	static final byte ASSERT = 59;
+	static final byte PRINT_EXPR = 60;
+	static final byte TAIL_CALL = 61;
+	static final byte TAIL_INVOKE = 62;
+	static final byte TAIL_INVOKE_THIS = 63;
+
+	private OpCode() {
+	}
+}
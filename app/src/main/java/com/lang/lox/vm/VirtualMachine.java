@@ -0,0 +1,943 @@
+package com.lang.lox.vm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import com.lang.lox.error.LoxErrorHandler;
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.LoxArray;
+import com.lang.lox.interpreter.LoxOperators;
+import com.lang.lox.interpreter.LoxPrelude;
+import com.lang.lox.interpreter.builtins.callables.LoxCallable;
+import com.lang.lox.interpreter.builtins.clss.LookupContext;
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.scanner.token.TokenType;
+import com.lang.lox.syntax.Stmt;
+import com.lang.lox.utils.NameVisibility;
+
+public final class VirtualMachine {
+	private static final int MAX_TRACE_LENGTH = 10;
+	private static final int INITIAL_STACK_SIZE = 1 << 10;
+	private static final Object MISSING_ARGUMENT = new Object();
+	private static final NameVisibility[] VISIBILITIES = NameVisibility.values();
+
+	private static final class CallFrame {
+		VmClosure closure;
+		byte[] code;
+		Object[] constants;
+		int ip;
+		int base;
+		VmInstance superClassTarget;
+	}
+
+	private final Globals mGlobals = new Globals();
+	private boolean mPrintExpressionStatements = false;
+
+	private Object[] mStack = new Object[INITIAL_STACK_SIZE];
+	private int mStackTop = 0;
+
+	private CallFrame[] mFrames = new CallFrame[64];
+	private int mFrameCount = 0;
+
+	private VmUpvalue mOpenUpvalues = null;
+
+	// Bounds the Lox calls in progress, which are every frame but the script's own
+	private final int mMaxCallDepth;
+
+	public VirtualMachine(final int maxCallDepth) {
+		mMaxCallDepth = maxCallDepth;
+
+		final var prelude = new HashMap<String, Object>();
+
+		LoxPrelude.load(prelude);
+
+		prelude.forEach(mGlobals::define);
+	}
+
+	public void printExpressionStatements(final boolean printExpressionStatements) {
+		mPrintExpressionStatements = printExpressionStatements;
+	}
+
+	public void interpret(final List<Stmt> statements, final LoxErrorHandler loxErrorHandler) {
+		final var compiler = new Compiler(mGlobals, loxErrorHandler, mPrintExpressionStatements);
+
+		final var script = compiler.compile(statements);
+
+		if (loxErrorHandler.hasError()) {
+			return;
+		}
+
+		try {
+			final var closure = new VmClosure(script);
+			push(closure);
+			callClosure(closure, 0, false);
+			run();
+		} catch (LoxRuntimeError error) {
+			loxErrorHandler.runtimeError(error);
+			resetStack();
+		}
+	}
+
+	private void resetStack() {
+		Arrays.fill(mStack, 0, mStackTop, null);
+		mStackTop = 0;
+		mFrameCount = 0;
+		mOpenUpvalues = null;
+	}
+
+	private void push(final Object value) {
+		if (mStackTop == mStack.length) {
+			mStack = Arrays.copyOf(mStack, mStackTop * 2);
+		}
+
+		mStack[mStackTop++] = value;
+	}
+
+	private Object pop() {
+		final var value = mStack[--mStackTop];
+		mStack[mStackTop] = null;
+		return value;
+	}
+
+	private Object peek(final int distance) {
+		return mStack[mStackTop - 1 - distance];
+	}
+
+	private void run() {
+		var frame = mFrames[mFrameCount - 1];
+		var code = frame.code;
+		var constants = frame.constants;
+		var ip = frame.ip;
+		var base = frame.base;
+
+		try {
+			for (;;) {
+				switch (code[ip++]) {
+					case OpCode.CONSTANT:
+						push(constants[readShort(code, ip)]);
+						ip += 2;
+						break;
+
+					case OpCode.NIL:
+						push(null);
+						break;
+
+					case OpCode.TRUE:
+						push(true);
+						break;
+
+					case OpCode.FALSE:
+						push(false);
+						break;
+
+					case OpCode.POP:
+						mStack[--mStackTop] = null;
+						break;
+
+					case OpCode.DUP:
+						push(peek(0));
+						break;
+
+					case OpCode.GET_LOCAL:
+						push(mStack[base + (code[ip++] & 0xff)]);
+						break;
+
+					case OpCode.SET_LOCAL:
+						mStack[base + (code[ip++] & 0xff)] = peek(0);
+						break;
+
+					case OpCode.GET_GLOBAL: {
+						final var index = readShort(code, ip);
+						ip += 2;
+
+						final var value = mGlobals.values[index];
+
+						if (value == Globals.UNDEFINED) {
+							throw undefinedVariable(index);
+						}
+
+						push(value);
+						break;
+					}
+
+					case OpCode.DEFINE_GLOBAL:
+						mGlobals.values[readShort(code, ip)] = pop();
+						ip += 2;
+						break;
+
+					case OpCode.SET_GLOBAL: {
+						final var index = readShort(code, ip);
+						ip += 2;
+
+						if (mGlobals.values[index] == Globals.UNDEFINED) {
+							throw undefinedVariable(index);
+						}
+
+						mGlobals.values[index] = peek(0);
+						break;
+					}
+
+					case OpCode.GET_UPVALUE: {
+						final var upvalue = frame.closure.upvalues[code[ip++] & 0xff];
+						push(upvalue.slot >= 0 ? mStack[upvalue.slot] : upvalue.closed);
+						break;
+					}
+
+					case OpCode.SET_UPVALUE: {
+						final var upvalue = frame.closure.upvalues[code[ip++] & 0xff];
+
+						if (upvalue.slot >= 0) {
+							mStack[upvalue.slot] = peek(0);
+						} else {
+							upvalue.closed = peek(0);
+						}
+
+						break;
+					}
+
+					case OpCode.GET_PROPERTY:
+					case OpCode.GET_THIS_PROPERTY: {
+						final var isWithinClass = code[ip - 1] == OpCode.GET_THIS_PROPERTY;
+						final var name = (Token) constants[readShort(code, ip)];
+						ip += 2;
+
+						mStack[mStackTop - 1] = getProperty(peek(0), name, isWithinClass);
+						break;
+					}
+
+					case OpCode.SET_PROPERTY:
+					case OpCode.SET_THIS_PROPERTY: {
+						final var isWithinClass = code[ip - 1] == OpCode.SET_THIS_PROPERTY;
+						final var name = (Token) constants[readShort(code, ip)];
+						ip += 2;
+
+						final var value = pop();
+						setProperty(pop(), name, value, isWithinClass);
+						push(value);
+						break;
+					}
+
+					case OpCode.GET_SUPER: {
+						final var name = (Token) constants[readShort(code, ip)];
+						ip += 2;
+
+						mStack[mStackTop - 1] = receiverInstance(peek(0), name).getInSuperClass(name);
+						break;
+					}
+
+					case OpCode.SUPER: {
+						final var instance = receiverInstance(peek(0), null);
+						final var superClassInstance = instance.getSuperClassInstance();
+
+						mStack[mStackTop - 1] = superClassInstance != null ? superClassInstance
+								: instance.getVmClass().getSuperClass();
+						break;
+					}
+
+					case OpCode.EQUAL: {
+						final var right = pop();
+						mStack[mStackTop - 1] = LoxOperators.isEqual(peek(0), right);
+						break;
+					}
+
+					case OpCode.NOT_EQUAL: {
+						final var right = pop();
+						mStack[mStackTop - 1] = !LoxOperators.isEqual(peek(0), right);
+						break;
+					}
+
+					case OpCode.GREATER: {
+						final var right = pop();
+						final var left = peek(0);
+
+						if (!(left instanceof Double && right instanceof Double)) {
+							LoxOperators.checkNumberOperands(null, left, right);
+						}
+
+						mStack[mStackTop - 1] = ((Double) left).doubleValue() > ((Double) right).doubleValue();
+						break;
+					}
+
+					case OpCode.GREATER_EQUAL: {
+						final var right = pop();
+						final var left = peek(0);
+
+						if (!(left instanceof Double && right instanceof Double)) {
+							LoxOperators.checkNumberOperands(null, left, right);
+						}
+
+						mStack[mStackTop - 1] = ((Double) left).doubleValue() >= ((Double) right).doubleValue();
+						break;
+					}
+
+					case OpCode.LESS: {
+						final var right = pop();
+						final var left = peek(0);
+
+						if (!(left instanceof Double && right instanceof Double)) {
+							LoxOperators.checkNumberOperands(null, left, right);
+						}
+
+						mStack[mStackTop - 1] = ((Double) left).doubleValue() < ((Double) right).doubleValue();
+						break;
+					}
+
+					case OpCode.LESS_EQUAL: {
+						final var right = pop();
+						final var left = peek(0);
+
+						if (!(left instanceof Double && right instanceof Double)) {
+							LoxOperators.checkNumberOperands(null, left, right);
+						}
+
+						mStack[mStackTop - 1] = ((Double) left).doubleValue() <= ((Double) right).doubleValue();
+						break;
+					}
+
+					case OpCode.ADD: {
+						final var right = pop();
+						final var left = peek(0);
+
+						if (left instanceof Double && right instanceof Double) {
+							mStack[mStackTop - 1] = (double) left + (double) right;
+						} else {
+							mStack[mStackTop - 1] = LoxOperators.addition(null, left, right);
+						}
+
+						break;
+					}
+
+					case OpCode.CONCATENATE: {
+						final var right = pop();
+						mStack[mStackTop - 1] = LoxOperators.concatenate(null, peek(0), right);
+						break;
+					}
+
+					case OpCode.INSERT: {
+						final var right = pop();
+						mStack[mStackTop - 1] = LoxOperators.insertInto(null, peek(0), right);
+						break;
+					}
+
+					case OpCode.SUBTRACT: {
+						final var right = pop();
+						final var left = peek(0);
+
+						if (!(left instanceof Double && right instanceof Double)) {
+							LoxOperators.checkNumberOperands(null, left, right);
+						}
+
+						mStack[mStackTop - 1] = ((Double) left).doubleValue() - ((Double) right).doubleValue();
+						break;
+					}
+
+					case OpCode.MULTIPLY: {
+						final var right = pop();
+						final var left = peek(0);
+
+						if (left instanceof Double && right instanceof Double) {
+							mStack[mStackTop - 1] = (double) left * (double) right;
+						} else {
+							mStack[mStackTop - 1] = LoxOperators.multiply(null, left, right);
+						}
+
+						break;
+					}
+
+					case OpCode.DIVIDE: {
+						final var right = pop();
+						mStack[mStackTop - 1] = LoxOperators.divide(null, peek(0), right);
+						break;
+					}
+
+					case OpCode.MODULO: {
+						final var right = pop();
+						mStack[mStackTop - 1] = LoxOperators.modulo(null, peek(0), right);
+						break;
+					}
+
+					case OpCode.EXPONENT: {
+						final var right = pop();
+						final var left = peek(0);
+						LoxOperators.checkNumberOperands(null, left, right);
+						mStack[mStackTop - 1] = Math.pow((double) left, (double) right);
+						break;
+					}
+
+					case OpCode.NOT:
+						mStack[mStackTop - 1] = !LoxOperators.isTruthy(peek(0));
+						break;
+
+					case OpCode.NEGATE:
+						LoxOperators.checkNumberOperand(null, peek(0));
+						mStack[mStackTop - 1] = -(double) peek(0);
+						break;
+
+					case OpCode.POSITIVE:
+						LoxOperators.checkNumberOperand(null, peek(0));
+						break;
+
+					case OpCode.INCREMENT:
+						LoxOperators.checkNumberValue(null, peek(0));
+						mStack[mStackTop - 1] = (double) peek(0) + 1;
+						break;
+
+					case OpCode.DECREMENT:
+						LoxOperators.checkNumberValue(null, peek(0));
+						mStack[mStackTop - 1] = (double) peek(0) - 1;
+						break;
+
+					case OpCode.SUBSCRIPT: {
+						final var index = pop();
+						mStack[mStackTop - 1] = LoxOperators.subscript(null, peek(0), index);
+						break;
+					}
+
+					case OpCode.ARRAY: {
+						final var count = readShort(code, ip);
+						ip += 2;
+
+						final var values = new LoxArray(count);
+
+						for (var i = mStackTop - count; i < mStackTop; ++i) {
+							values.add(mStack[i]);
+						}
+
+						Arrays.fill(mStack, mStackTop - count, mStackTop, null);
+						mStackTop -= count;
+						push(values);
+						break;
+					}
+
+					case OpCode.JUMP:
+						ip += readShort(code, ip) + 2;
+						break;
+
+					case OpCode.JUMP_IF_FALSE:
+						if (!LoxOperators.isTruthy(peek(0))) {
+							ip += readShort(code, ip);
+						}
+
+						ip += 2;
+						break;
+
+					case OpCode.LOOP:
+						ip -= readShort(code, ip) - 2;
+						break;
+
+					case OpCode.CALL: {
+						final var argCount = code[ip++] & 0xff;
+
+						frame.ip = ip;
+						callValue(peek(argCount), argCount);
+
+						frame = mFrames[mFrameCount - 1];
+						code = frame.code;
+						constants = frame.constants;
+						ip = frame.ip;
+						base = frame.base;
+						break;
+					}
+
+					case OpCode.TAIL_CALL: {
+						final var argCount = code[ip++] & 0xff;
+						final var callee = peek(argCount);
+
+						frame.ip = ip;
+						dropFrameForTailCall(callee, argCount, base);
+						callValue(callee, argCount);
+
+						frame = mFrames[mFrameCount - 1];
+						code = frame.code;
+						constants = frame.constants;
+						ip = frame.ip;
+						base = frame.base;
+						break;
+					}
+
+					case OpCode.INVOKE:
+					case OpCode.INVOKE_THIS:
+					case OpCode.TAIL_INVOKE:
+					case OpCode.TAIL_INVOKE_THIS: {
+						final var opCode = code[ip - 1];
+						final var isWithinClass = opCode == OpCode.INVOKE_THIS || opCode == OpCode.TAIL_INVOKE_THIS;
+						final var name = (Token) constants[readShort(code, ip)];
+						final var argCount = code[ip + 2] & 0xff;
+						ip += 3;
+
+						frame.ip = ip;
+						final var callee = findInvoked(name, argCount, isWithinClass);
+
+						if (opCode == OpCode.TAIL_INVOKE || opCode == OpCode.TAIL_INVOKE_THIS) {
+							dropFrameForTailCall(callee, argCount, base);
+						}
+
+						callValue(callee, argCount);
+
+						frame = mFrames[mFrameCount - 1];
+						code = frame.code;
+						constants = frame.constants;
+						ip = frame.ip;
+						base = frame.base;
+						break;
+					}
+
+					case OpCode.SUPER_CALL: {
+						final var argCount = code[ip++] & 0xff;
+
+						frame.ip = ip;
+						superCall(argCount);
+
+						frame = mFrames[mFrameCount - 1];
+						code = frame.code;
+						constants = frame.constants;
+						ip = frame.ip;
+						base = frame.base;
+						break;
+					}
+
+					case OpCode.CLOSURE: {
+						final var function = (VmFunction) constants[readShort(code, ip)];
+						ip += 2;
+
+						final var closure = new VmClosure(function);
+						final var upvalues = closure.upvalues;
+
+						for (var i = 0; i < upvalues.length; ++i) {
+							final var isLocal = code[ip++] == 1;
+							final var index = code[ip++] & 0xff;
+
+							upvalues[i] = isLocal ? captureUpvalue(base + index) : frame.closure.upvalues[index];
+						}
+
+						push(closure);
+						break;
+					}
+
+					case OpCode.CLOSE_UPVALUE:
+						closeUpvalues(mStackTop - 1);
+						mStack[--mStackTop] = null;
+						break;
+
+					case OpCode.RETURN: {
+						var result = pop();
+
+						closeUpvalues(base);
+
+						Arrays.fill(mStack, base, mStackTop, null);
+						mStackTop = base;
+						--mFrameCount;
+
+						if (frame.superClassTarget != null) {
+							frame.superClassTarget.setSuperClassInstance((VmInstance) result);
+							frame.superClassTarget = null;
+							result = null;
+						}
+
+						frame.closure = null;
+
+						if (mFrameCount == 0) {
+							return;
+						}
+
+						push(result);
+
+						frame = mFrames[mFrameCount - 1];
+						code = frame.code;
+						constants = frame.constants;
+						ip = frame.ip;
+						base = frame.base;
+						break;
+					}
+
+					case OpCode.CLASS:
+						push(new VmClass((Token) constants[readShort(code, ip)]));
+						ip += 2;
+						break;
+
+					case OpCode.INHERIT: {
+						final var superClass = pop();
+
+						if (!(superClass instanceof VmClass)) {
+							throw new LoxRuntimeError(null, "Superclass must be a class.");
+						}
+
+						((VmClass) peek(0)).setSuperClass((VmClass) superClass);
+						break;
+					}
+
+					case OpCode.METHOD: {
+						final var name = (String) constants[readShort(code, ip)];
+						final var visibility = VISIBILITIES[code[ip + 2]];
+						ip += 3;
+
+						final var method = (VmClosure) pop();
+						((VmClass) peek(0)).defineMethod(name, visibility, method);
+						break;
+					}
+
+					case OpCode.STATIC_METHOD: {
+						final var name = (String) constants[readShort(code, ip)];
+						final var visibility = VISIBILITIES[code[ip + 2]];
+						ip += 3;
+
+						final var method = (VmClosure) pop();
+						((VmClass) peek(0)).defineStaticMethod(name, visibility, method);
+						break;
+					}
+
+					case OpCode.STATIC_FIELD: {
+						final var name = (String) constants[readShort(code, ip)];
+						final var visibility = VISIBILITIES[code[ip + 2]];
+						ip += 3;
+
+						final var value = pop();
+						((VmClass) peek(0)).defineStaticField(name, visibility, value);
+						break;
+					}
+
+					case OpCode.INITIALIZER: {
+						final var initializer = (VmClosure) pop();
+						((VmClass) peek(0)).setInitializer(initializer);
+						break;
+					}
+
+					case OpCode.INIT_FIELD: {
+						final var name = (String) constants[readShort(code, ip)];
+						final var visibility = VISIBILITIES[code[ip + 2]];
+						ip += 3;
+
+						((VmInstance) mStack[base]).defineField(name, visibility, pop());
+						break;
+					}
+
+					case OpCode.DEFAULT_ARG: {
+						final var slot = code[ip++] & 0xff;
+
+						if (mStack[base + slot] != MISSING_ARGUMENT) {
+							ip += readShort(code, ip);
+						}
+
+						ip += 2;
+						break;
+					}
+
+					case OpCode.DEFAULT_VALUE: {
+						final var param = (Token) constants[readShort(code, ip)];
+						ip += 2;
+
+						if (peek(0) == null) {
+							throw new LoxRuntimeError(param, "Evaluated default value is 'nil'");
+						}
+
+						break;
+					}
+
+					case OpCode.ASSERT: {
+						final var message = (Token) constants[readShort(code, ip)];
+						ip += 2;
+
+						if (LoxOperators.isTruthy(pop())) {
+							throw new LoxRuntimeError(message, message.lexeme);
+						}
+
+						break;
+					}
+
+					case OpCode.PRINT_EXPR:
+						System.out.println(LoxOperators.stringify(pop()));
+						break;
+
+					default:
+						throw new LoxRuntimeError(null, "Unknown instruction " + code[ip - 1]);
+				}
+			}
+		} catch (LoxRuntimeError error) {
+			if (error.token == null) {
+				// The frame running when the error was thrown, which a failed tail call has already dropped
+				final var line = frame.closure.function.chunk.lineAt(Math.max(ip - 1, 0));
+				error.token = new Token(TokenType.EOF, "", null, line);
+			}
+
+			throw error;
+		}
+	}
+
+	private static int readShort(final byte[] code, final int ip) {
+		return ((code[ip] & 0xff) << 8) | (code[ip + 1] & 0xff);
+	}
+
+	private LoxRuntimeError undefinedVariable(final int index) {
+		return new LoxRuntimeError(null, "Undefined variable '" + mGlobals.names[index] + "'.");
+	}
+
+	private Object getProperty(final Object object, final Token name, final boolean isWithinClass) {
+		if (object instanceof VmInstance) {
+			return ((VmInstance) object).get(name, isWithinClass);
+		} else if (object instanceof VmClass) {
+			return ((VmClass) object).get(name, isWithinClass);
+		}
+
+		throw new LoxRuntimeError(name, "Is not a class or instance of a class");
+	}
+
+	private void setProperty(final Object object, final Token name, final Object value,
+			final boolean isWithinClass) {
+		if (object instanceof VmInstance) {
+			((VmInstance) object).set(name, value, isWithinClass);
+		} else if (object instanceof VmClass) {
+			((VmClass) object).set(name, value, isWithinClass);
+		} else {
+			throw new LoxRuntimeError(name, "Is not a class or an instance of a class");
+		}
+	}
+
+	private VmInstance receiverInstance(final Object receiver, final Token name) {
+		if (!(receiver instanceof VmInstance)) {
+			throw new LoxRuntimeError(name, "Is not a class or instance of a class");
+		}
+
+		return (VmInstance) receiver;
+	}
+
+	// Puts what the invoked member runs with in the callee's slot, which for a method is its receiver
+	private Object findInvoked(final Token name, final int argCount, final boolean isWithinClass) {
+		final var receiver = peek(argCount);
+		final var calleeSlot = mStackTop - 1 - argCount;
+
+		if (!(receiver instanceof VmInstance)) {
+			mStack[calleeSlot] = getProperty(receiver, name, isWithinClass);
+			return mStack[calleeSlot];
+		}
+
+		final var context = new LookupContext(isWithinClass, false, name);
+
+		for (var instance = (VmInstance) receiver; instance != null; instance = instance.getSuperClassInstance()) {
+			final var field = instance.getField(context);
+
+			if (field != null) {
+				mStack[calleeSlot] = field;
+				return field;
+			}
+
+			final var method = instance.getVmClass().findMethod(context);
+
+			if (method != null) {
+				mStack[calleeSlot] = instance;
+				return method;
+			}
+
+			context.memberAccessWithinSuperClass = true;
+		}
+
+		throw new LoxRuntimeError(name, "Undefined property \"" + name.lexeme + "\".");
+	}
+
+	// The returning frame is dropped before a Lox function's is pushed, which then returns straight to its caller.
+	// Anything else is called as usual and the RETURN after the call hands its result back
+	private void dropFrameForTailCall(final Object callee, final int argCount, final int base) {
+		if (!(callee instanceof VmClosure || callee instanceof VmBoundMethod)) {
+			return;
+		}
+
+		final var calleeSlot = mStackTop - 1 - argCount;
+
+		closeUpvalues(base);
+
+		System.arraycopy(mStack, calleeSlot, mStack, base, argCount + 1);
+		Arrays.fill(mStack, base + argCount + 1, mStackTop, null);
+		mStackTop = base + argCount + 1;
+		--mFrameCount;
+	}
+
+	private void superCall(final int argCount) {
+		final var calleeSlot = mStackTop - 1 - argCount;
+		final var instance = receiverInstance(mStack[calleeSlot], null);
+
+		if (instance.getSuperClassInstance() != null) {
+			throw new LoxRuntimeError(null, "Object is not callable");
+		}
+
+		final var superClass = instance.getVmClass().getSuperClass();
+
+		if (superClass == null) {
+			throw new LoxRuntimeError(null, "Object is not callable");
+		}
+
+		final var frameCount = mFrameCount;
+
+		mStack[calleeSlot] = superClass;
+		callValue(superClass, argCount);
+
+		if (mFrameCount > frameCount) {
+			mFrames[mFrameCount - 1].superClassTarget = instance;
+		} else {
+			instance.setSuperClassInstance((VmInstance) pop());
+			push(null);
+		}
+	}
+
+	private void callValue(final Object callee, final int argCount) {
+		if (callee instanceof VmClosure) {
+			callClosure((VmClosure) callee, argCount, false);
+		} else if (callee instanceof VmBoundMethod) {
+			final var boundMethod = (VmBoundMethod) callee;
+
+			mStack[mStackTop - 1 - argCount] = boundMethod.receiver;
+			callClosure(boundMethod.method, argCount, false);
+		} else if (callee instanceof VmClass) {
+			instantiate((VmClass) callee, argCount);
+		} else if (callee instanceof LoxCallable) {
+			callNative((LoxCallable) callee, argCount);
+		} else {
+			throw new LoxRuntimeError(null, "Object is not callable");
+		}
+	}
+
+	private void instantiate(final VmClass loxClass, final int argCount) {
+		final var instance = new VmInstance(loxClass);
+
+		mStack[mStackTop - 1 - argCount] = instance;
+
+		final var initializer = loxClass.getInitializer();
+
+		if (initializer != null) {
+			callClosure(initializer, argCount, true);
+		} else if (argCount != 0) {
+			throw arityError(0, argCount);
+		}
+	}
+
+	private void callNative(final LoxCallable function, final int argCount) {
+		final var arity = function.arity();
+
+		if (!function.hasDefaultParameters() && arity != LoxCallable.MAX_ARGS && argCount != arity) {
+			throw arityError(arity, argCount);
+		}
+
+		final var arguments = new ArrayList<Object>(argCount);
+
+		for (var i = mStackTop - argCount; i < mStackTop; ++i) {
+			arguments.add(mStack[i]);
+		}
+
+		final var result = function.call(null, arguments);
+
+		Arrays.fill(mStack, mStackTop - argCount - 1, mStackTop, null);
+		mStackTop -= argCount + 1;
+		push(result);
+	}
+
+	private void callClosure(final VmClosure closure, final int argCount, final boolean isStrict) {
+		final var function = closure.function;
+		final var arity = function.arity;
+
+		if (argCount != arity) {
+			if (isStrict || !function.hasDefaultParameters) {
+				throw arityError(arity, argCount);
+			}
+
+			if (argCount < arity) {
+				for (var i = argCount; i < arity; ++i) {
+					if (!function.defaults[i]) {
+						throw arityError(arity, argCount);
+					}
+
+					push(MISSING_ARGUMENT);
+				}
+			} else {
+				Arrays.fill(mStack, mStackTop - (argCount - arity), mStackTop, null);
+				mStackTop -= argCount - arity;
+			}
+		}
+
+		if (mFrameCount - 1 == mMaxCallDepth) {
+			throw stackOverflow();
+		}
+
+		if (mFrameCount == mFrames.length) {
+			mFrames = Arrays.copyOf(mFrames, mFrameCount * 2);
+		}
+
+		var frame = mFrames[mFrameCount];
+
+		if (frame == null) {
+			frame = mFrames[mFrameCount] = new CallFrame();
+		}
+
+		frame.closure = closure;
+		frame.code = function.chunk.code;
+		frame.constants = function.chunk.constants;
+		frame.ip = 0;
+		frame.base = mStackTop - arity - 1;
+		frame.superClassTarget = null;
+
+		++mFrameCount;
+	}
+
+	// Reported against the caller's line once run() fills the token in, like any other runtime error
+	private LoxRuntimeError stackOverflow() {
+		final var error = new LoxRuntimeError(null, "Stack overflow.");
+		final var depth = mFrameCount - 1;
+		final var shown = Math.min(depth, MAX_TRACE_LENGTH);
+
+		error.trace = new ArrayList<>(shown + 1);
+
+		for (var i = mFrameCount - 1; i > mFrameCount - 1 - shown; --i) {
+			final var caller = mFrames[i - 1];
+
+			// A caller's ip sits just past the call it's waiting on
+			error.trace.add("at " + mFrames[i].closure + " [line "
+					+ caller.closure.function.chunk.lineAt(caller.ip - 1) + "]");
+		}
+
+		if (depth > shown) {
+			error.trace.add("... " + (depth - shown) + " more");
+		}
+
+		return error;
+	}
+
+	private static LoxRuntimeError arityError(final int arity, final int argCount) {
+		return new LoxRuntimeError(null, "Expected " +
+				arity + " argument(s) but got " +
+				argCount + ".");
+	}
+
+	private VmUpvalue captureUpvalue(final int slot) {
+		VmUpvalue previous = null;
+		var upvalue = mOpenUpvalues;
+
+		while (upvalue != null && upvalue.slot > slot) {
+			previous = upvalue;
+			upvalue = upvalue.next;
+		}
+
+		if (upvalue != null && upvalue.slot == slot) {
+			return upvalue;
+		}
+
+		final var created = new VmUpvalue(slot);
+		created.next = upvalue;
+
+		if (previous == null) {
+			mOpenUpvalues = created;
+		} else {
+			previous.next = created;
+		}
+
+		return created;
+	}
+
+	private void closeUpvalues(final int lastSlot) {
+		while (mOpenUpvalues != null && mOpenUpvalues.slot >= lastSlot) {
+			final var upvalue = mOpenUpvalues;
+
+			upvalue.closed = mStack[upvalue.slot];
+			upvalue.slot = -1;
+			mOpenUpvalues = upvalue.next;
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.lang.lox.vm;
+
+import com.lang.lox.interpreter.builtins.callables.CallableObject;
+
+final class VmBoundMethod implements CallableObject {
+	final Object receiver;
+	final VmClosure method;
+
+	VmBoundMethod(final Object receiver, final VmClosure method) {
+		this.receiver = receiver;
+		this.method = method;
+	}
+
+	@Override
+	public String toString() {
+		return method.toString();
+	}
+}
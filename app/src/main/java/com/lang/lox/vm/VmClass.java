@@ -0,0 +1,132 @@
+package com.lang.lox.vm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.builtins.callables.CallableObject;
+import com.lang.lox.interpreter.builtins.clss.Field;
+import com.lang.lox.interpreter.builtins.clss.LookupContext;
+import com.lang.lox.interpreter.builtins.clss.MemberAccessor;
+import com.lang.lox.interpreter.builtins.clss.MethodTable;
+import com.lang.lox.interpreter.builtins.clss.Shape;
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.utils.NameVisibility;
+
+final class VmClass implements CallableObject {
+	private final Token mName;
+	private VmClass mSuperClass = null;
+	private VmClosure mInitializer = null;
+
+	// Instances start out empty and gain their fields while the initializer runs
+	private final Shape mRootShape;
+	private int mInstanceSize = 0;
+
+	private final Map<String, Field<Object>> mStaticFieldTable = new HashMap<>();
+	private final Map<String, Field<VmClosure>> mStaticMethodTable = new HashMap<>();
+
+	private final MethodTable<VmClosure> mMethods;
+	private final MemberAccessor<Object> mStaticFields;
+	private final MemberAccessor<VmClosure> mStaticMethods;
+
+	VmClass(final Token name) {
+		mName = name;
+		mRootShape = new Shape(name.lexeme);
+		mMethods = new MethodTable<>(name.lexeme);
+		mStaticFields = new MemberAccessor<>(name.lexeme, mStaticFieldTable);
+		mStaticMethods = new MemberAccessor<>(name.lexeme, mStaticMethodTable);
+	}
+
+	Token getName() {
+		return mName;
+	}
+
+	Shape getRootShape() {
+		return mRootShape;
+	}
+
+	int getInstanceSize() {
+		return mInstanceSize;
+	}
+
+	void growInstanceSize(final int size) {
+		mInstanceSize = Math.max(mInstanceSize, size);
+	}
+
+	VmClass getSuperClass() {
+		return mSuperClass;
+	}
+
+	void setSuperClass(final VmClass superClass) {
+		mSuperClass = superClass;
+		mMethods.inherit(superClass.mMethods);
+	}
+
+	VmClosure getInitializer() {
+		return mInitializer;
+	}
+
+	void setInitializer(final VmClosure initializer) {
+		mInitializer = initializer;
+	}
+
+	void defineMethod(final String name, final NameVisibility visibility, final VmClosure method) {
+		mMethods.define(name, visibility, method);
+	}
+
+	void defineStaticMethod(final String name, final NameVisibility visibility, final VmClosure method) {
+		mStaticMethodTable.put(name, MemberAccessor.field(visibility, method));
+	}
+
+	void defineStaticField(final String name, final NameVisibility visibility, final Object value) {
+		mStaticFieldTable.put(name, MemberAccessor.field(visibility, value));
+	}
+
+	Object get(final Token name, final boolean accessOccursWithinClass) {
+		return getMember(new LookupContext(accessOccursWithinClass, false, name));
+	}
+
+	private Object getMember(final LookupContext context) {
+		final var field = mStaticFields.getValue(context);
+
+		if (field != null) {
+			return field;
+		}
+
+		final var method = mStaticMethods.getValue(context);
+
+		if (method != null) {
+			return new VmBoundMethod(this, method);
+		}
+
+		if (mSuperClass != null) {
+			context.memberAccessWithinSuperClass = true;
+			return mSuperClass.getMember(context);
+		}
+
+		throw new LoxRuntimeError(context.memberName,
+				"Undefined property \"" + context.memberName.lexeme + "\".");
+	}
+
+	void set(final Token name, final Object value, final boolean accessOccursWithinClass) {
+		setMemberValue(value, new LookupContext(accessOccursWithinClass, false, name));
+	}
+
+	private void setMemberValue(final Object value, final LookupContext context) {
+		final var updatedValue = mStaticFields.setValue(value, context);
+
+		if (!updatedValue && mSuperClass != null) {
+			context.memberAccessWithinSuperClass = true;
+			mSuperClass.setMemberValue(value, context);
+		}
+	}
+
+	VmClosure findMethod(final LookupContext context) {
+		return mMethods.find(context);
+	}
+
+	@Override
+	public String toString() {
+		return "<class " + mName + ">";
+	}
+}
@@ -0,0 +1,18 @@
+package com.lang.lox.vm;
+
+import com.lang.lox.interpreter.builtins.callables.CallableObject;
+
+final class VmClosure implements CallableObject {
+	final VmFunction function;
+	final VmUpvalue[] upvalues;
+
+	VmClosure(final VmFunction function) {
+		this.function = function;
+		upvalues = new VmUpvalue[function.upvalueCount];
+	}
+
+	@Override
+	public String toString() {
+		return function.toString();
+	}
+}
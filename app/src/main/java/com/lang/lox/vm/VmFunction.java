@@ -0,0 +1,39 @@
+package com.lang.lox.vm;
+
+final class VmFunction {
+	enum Kind {
+		SCRIPT,
+		FUNCTION,
+		LAMBDA,
+		METHOD,
+		STATIC_METHOD,
+		INITIALIZER
+	}
+
+	final Kind kind;
+	final String name;
+	final boolean isNamed;
+	final Chunk chunk = new Chunk();
+	int arity = 0;
+	int upvalueCount = 0;
+	boolean hasDefaultParameters = false;
+	boolean[] defaults = new boolean[0];
+
+	VmFunction(final Kind kind, final String name, final boolean isNamed) {
+		this.kind = kind;
+		this.name = name;
+		this.isNamed = isNamed;
+	}
+
+	@Override
+	public String toString() {
+		switch (kind) {
+			case SCRIPT:
+				return "<script>";
+			case LAMBDA:
+				return !isNamed ? "<lambda>" : "<lambda " + name + ">";
+			default:
+				return "<fn " + name + ">";
+		}
+	}
+}
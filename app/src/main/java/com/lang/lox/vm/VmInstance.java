@@ -0,0 +1,100 @@
+package com.lang.lox.vm;
+
+import java.util.Arrays;
+
+import com.lang.lox.error.LoxRuntimeError;
+import com.lang.lox.interpreter.builtins.clss.LookupContext;
+import com.lang.lox.interpreter.builtins.clss.Shape;
+import com.lang.lox.scanner.token.Token;
+import com.lang.lox.utils.NameVisibility;
+
+final class VmInstance {
+	private final VmClass mClass;
+	private VmInstance mSuperClassInstance = null;
+	private Shape mShape;
+	private Object[] mFields;
+
+	VmInstance(final VmClass loxClass) {
+		mClass = loxClass;
+		mShape = loxClass.getRootShape();
+		mFields = new Object[loxClass.getInstanceSize()];
+	}
+
+	VmClass getVmClass() {
+		return mClass;
+	}
+
+	VmInstance getSuperClassInstance() {
+		return mSuperClassInstance;
+	}
+
+	void setSuperClassInstance(final VmInstance superClassInstance) {
+		mSuperClassInstance = superClassInstance;
+	}
+
+	void defineField(final String name, final NameVisibility visibility, final Object value) {
+		mShape = mShape.withField(name, visibility);
+
+		final var size = mShape.size();
+
+		if (size > mFields.length) {
+			mFields = Arrays.copyOf(mFields, size);
+			mClass.growInstanceSize(size);
+		}
+
+		mFields[mShape.indexOf(name)] = value;
+	}
+
+	Object getField(final LookupContext context) {
+		return mShape.getValue(mFields, context);
+	}
+
+	Object get(final Token name, final boolean accessOccursWithinClass) {
+		return getMember(new LookupContext(accessOccursWithinClass, false, name));
+	}
+
+	private Object getMember(final LookupContext context) {
+		final var field = mShape.getValue(mFields, context);
+
+		if (field != null) {
+			return field;
+		}
+
+		final var method = mClass.findMethod(context);
+
+		if (method != null) {
+			return new VmBoundMethod(this, method);
+		}
+
+		if (mSuperClassInstance != null) {
+			context.memberAccessWithinSuperClass = true;
+			return mSuperClassInstance.getMember(context);
+		}
+
+		throw new LoxRuntimeError(context.memberName,
+				"Undefined property \"" + context.memberName.lexeme + "\".");
+	}
+
+	Object getInSuperClass(final Token name) {
+		return mSuperClassInstance != null ? mSuperClassInstance.getMember(new LookupContext(true, true, name))
+				: null;
+	}
+
+	void set(final Token name, final Object value, final boolean accessOccursWithinClass) {
+		setMemberValue(value, new LookupContext(accessOccursWithinClass, false, name));
+	}
+
+	private void setMemberValue(final Object value, final LookupContext context) {
+		final var updatedMemberValue = mShape.setValue(mFields, value, context);
+
+		if (!updatedMemberValue && mSuperClassInstance != null) {
+			context.memberAccessWithinSuperClass = true;
+			mSuperClassInstance.setMemberValue(value, context);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "<" + mClass.getName() + " instance>";
+	}
+}
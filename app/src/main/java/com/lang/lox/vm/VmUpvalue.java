@@ -0,0 +1,12 @@
+package com.lang.lox.vm;
+
+final class VmUpvalue {
+	// Index of the captured stack slot while the upvalue is open, -1 once closed
+	int slot;
+	Object closed = null;
+	VmUpvalue next = null;
+
+	VmUpvalue(final int slot) {
+		this.slot = slot;
+	}
+}